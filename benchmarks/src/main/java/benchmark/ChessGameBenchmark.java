@@ -0,0 +1,63 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.Fen;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Game status checks, and the binary and JSON round trips a game makes through storage and the HTTP API.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChessGameBenchmark {
+
+    @Param({
+            Fen.START,
+            //fool's mate, white is checkmated
+            "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"
+    })
+    public String fen;
+
+    private ChessGame game;
+    private String json;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        game = Fen.toGame(fen);
+        json = game.serialize();
+        bytes = game.encode();
+    }
+
+    @Benchmark
+    public boolean isInCheckmate() {
+        return game.isInCheckmate(game.getTeamTurn());
+    }
+
+    @Benchmark
+    public String serialize() {
+        return game.serialize();
+    }
+
+    @Benchmark
+    public ChessGame deserialize() {
+        return ChessGame.deserialize(json);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return game.encode();
+    }
+
+    @Benchmark
+    public ChessGame decode() {
+        return ChessGame.decode(bytes);
+    }
+}
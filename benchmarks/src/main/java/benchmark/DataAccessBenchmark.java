@@ -0,0 +1,168 @@
+package benchmark;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import chess.InvalidMoveException;
+import dataaccess.DataAccess;
+import dataaccess.DataAccessException;
+import dataaccess.EmbeddedDataAccess;
+import dataaccess.GameQuery;
+import dataaccess.MemoryDataAccess;
+import dataaccess.SqlDataAccess;
+import model.AuthData;
+import model.GameData;
+import model.GameSummary;
+import model.UserData;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CRUD throughput of each {@link DataAccess} implementation.
+ * <p>
+ * The sql backend runs against an in-memory H2 database in MySQL mode, unless
+ * db.* system properties (for example {@code -jvmArgs -Ddb.url=...}) point it elsewhere.
+ * The embedded backend keeps an H2 file in a temporary directory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataAccessBenchmark {
+    private static final int GAMES = 100;
+    private static final String PLAYER = "player";
+    //a knight out and back for each side, which can be repeated for as long as an iteration runs
+    private static final ChessMove[] SHUFFLE = {
+            new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+            new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+            new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+            new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)};
+
+    @Param({"memory", "sql", "embedded"})
+    public String backend;
+
+    private DataAccess dataAccess;
+    private final int[] gameIDs = new int[GAMES];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void connect() throws DataAccessException {
+        if (backend.equals("sql")) {
+            if (System.getProperty("db.url") == null && System.getProperty("db.host") == null) {
+                System.setProperty("db.url", "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+                System.setProperty("db.user", "sa");
+                System.setProperty("db.password", "");
+            }
+            dataAccess = new SqlDataAccess();
+        } else if (backend.equals("embedded")) {
+            try {
+                dataAccess = new EmbeddedDataAccess(Files.createTempDirectory("chess-benchmark").resolve("chess"));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        } else {
+            dataAccess = new MemoryDataAccess();
+        }
+    }
+
+    /**
+     * Starts every iteration from the same rows so tables that grow during a
+     * benchmark do not skew the next iteration
+     */
+    @Setup(Level.Iteration)
+    public void seed() throws DataAccessException {
+        dataAccess.clear();
+        dataAccess.createUser(new UserData(PLAYER, "hash", "player@mail.com"));
+        for (int i = 0; i < GAMES; i++) {
+            gameIDs[i] = dataAccess.createGame(new GameData(i + 1, PLAYER, null, "game" + i, new ChessGame()));
+        }
+        next = GAMES;
+    }
+
+    @TearDown(Level.Trial)
+    public void disconnect() throws DataAccessException {
+        dataAccess.clear();
+        if (dataAccess instanceof EmbeddedDataAccess embedded) {
+            embedded.close();
+        }
+    }
+
+    @Benchmark
+    public UserData createUser() throws DataAccessException {
+        String username = "user" + next++;
+        dataAccess.createUser(new UserData(username, "hash", username + "@mail.com"));
+        return dataAccess.getUser(username);
+    }
+
+    @Benchmark
+    public AuthData authRoundTrip() throws DataAccessException {
+        String token = "token" + next++;
+        dataAccess.createAuth(new AuthData(token, PLAYER));
+        AuthData auth = dataAccess.getAuth(token);
+        dataAccess.deleteAuth(token);
+        return auth;
+    }
+
+    @Benchmark
+    public int createGame() throws DataAccessException {
+        next++;
+        return dataAccess.createGame(new GameData(next, PLAYER, null, "game" + next, new ChessGame()));
+    }
+
+    /**
+     * A tournament round of {@value #GAMES} boards; compare with {@value #GAMES} calls of {@link #createGame}
+     */
+    @Benchmark
+    public int[] createGamesBatch() throws DataAccessException {
+        List<GameData> round = new ArrayList<>(GAMES);
+        for (int i = 0; i < GAMES; i++) {
+            next++;
+            round.add(new GameData(next, PLAYER, null, "game" + next, new ChessGame()));
+        }
+        return dataAccess.createGames(round);
+    }
+
+    @Benchmark
+    public GameData getGame() throws DataAccessException {
+        return dataAccess.getGame(gameIDs[next++ % GAMES]);
+    }
+
+    @Benchmark
+    public GameData updateGame() throws DataAccessException {
+        GameData game = dataAccess.getGame(gameIDs[next++ % GAMES]);
+        GameData joined = new GameData(game.gameID(), game.whiteUsername(), PLAYER, game.gameName(), game.game());
+        dataAccess.updateGame(joined);
+        return joined;
+    }
+
+    /**
+     * Reads a game and saves one more move; compare with {@link #updateGame}, which rewrites the whole game
+     */
+    @Benchmark
+    public boolean appendMove() throws DataAccessException, InvalidMoveException {
+        GameData game = dataAccess.getGame(gameIDs[next++ % GAMES]);
+        ChessGame moved = ChessGame.decode(game.game().encode());
+        ChessMove move = SHUFFLE[moved.getMoveCount() % SHUFFLE.length];
+        moved.makeMove(move);
+        return dataAccess.appendMove(new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(),
+                game.gameName(), moved, game.version()), move);
+    }
+
+    @Benchmark
+    public GameData[] listGames() throws DataAccessException {
+        return dataAccess.listGames();
+    }
+
+    @Benchmark
+    public GameSummary[] listGamesPage() throws DataAccessException {
+        return dataAccess.listGameSummaries(new GameQuery(0, 20, true, null, null));
+    }
+}
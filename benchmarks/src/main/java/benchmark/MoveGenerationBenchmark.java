@@ -0,0 +1,97 @@
+package benchmark;
+
+import chess.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move generation throughput. Each benchmark also counts the moves it produced
+ * in {@link Nodes}, so JMH reports nodes per second next to operations per second.
+ * <p>
+ * Build with {@code mvn -pl shared,server,benchmarks -am package} and run
+ * {@code java -jar benchmarks/target/benchmarks.jar MoveGeneration}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveGenerationBenchmark {
+
+    @Param({
+            Fen.START,
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10"
+    })
+    public String fen;
+
+    private ChessGame game;
+    private ChessBoard board;
+    private ChessPosition[] occupied;
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+    private final Perft perft = new Perft(3);
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Nodes {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        game = Fen.toGame(fen);
+        board = game.getBoard();
+        int pieces = Long.bitCount(board.getOccupancy());
+        occupied = new ChessPosition[pieces];
+        int i = 0;
+        for (int row = 1; row <= 8; row++) {
+            for (int column = 1; column <= 8; column++) {
+                ChessPosition position = new ChessPosition(row, column);
+                if (board.getPiece(position) != null) {
+                    occupied[i++] = position;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void pieceMoves(Nodes counter, Blackhole blackhole) {
+        for (ChessPosition position : occupied) {
+            Collection<ChessMove> pieceMoves = board.getPiece(position).pieceMoves(board, position);
+            counter.nodes += pieceMoves.size();
+            blackhole.consume(pieceMoves);
+        }
+    }
+
+    @Benchmark
+    public void validMoves(Nodes counter, Blackhole blackhole) {
+        for (ChessPosition position : occupied) {
+            Collection<ChessMove> validMoves = game.validMoves(position);
+            counter.nodes += validMoves.size();
+            blackhole.consume(validMoves);
+        }
+    }
+
+    @Benchmark
+    public int legalGeneration(Nodes counter) {
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+        counter.nodes += count;
+        return count;
+    }
+
+    @Benchmark
+    public long perft3(Nodes counter) {
+        long nodes = perft.count(board, 3);
+        counter.nodes += nodes;
+        return nodes;
+    }
+}
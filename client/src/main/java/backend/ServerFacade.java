@@ -8,6 +8,7 @@ import model.result.*;
 
 import java.io.*;
 import java.net.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 public class ServerFacade {
@@ -36,10 +37,27 @@ public class ServerFacade {
     }
 
     public ListGamesResult listGames(ListGamesRequest request) throws BadRequestException {
-        var path = "/game";
+        var path = "/game" + listQuery(request);
         return this.makeRequest("GET", path, request, ListGamesResult.class, request.authToken());
     }
 
+    private static String listQuery(ListGamesRequest request) {
+        StringBuilder query = new StringBuilder();
+        appendParam(query, "cursor", request.cursor());
+        appendParam(query, "limit", request.limit());
+        appendParam(query, "open", request.openSeats() ? "true" : null);
+        appendParam(query, "player", request.player());
+        appendParam(query, "name", request.namePrefix());
+        return query.toString();
+    }
+
+    private static void appendParam(StringBuilder query, String name, Object value) {
+        if (value != null) {
+            query.append(query.isEmpty() ? '?' : '&').append(name).append('=')
+                    .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+        }
+    }
+
     public CreateGameResult createGame(CreateGameRequest request) throws BadRequestException {
         var path = "/game";
         return this.makeRequest("POST", path, request, CreateGameResult.class, request.authToken());
@@ -58,8 +58,8 @@ public class GameClient extends Client {
 
     public String move(String... params) throws BadRequestException {
         if (params.length >= 2 && params.length <= 3) {
-            ChessPosition start = new ChessPosition(Integer.parseInt(String.valueOf(params[0].charAt(1))), this.convertHeaderToInt(params[0]));
-            ChessPosition end = new ChessPosition(Integer.parseInt(String.valueOf(params[1].charAt(1))), this.convertHeaderToInt(params[1]));
+            ChessPosition start = ChessPosition.of(Integer.parseInt(String.valueOf(params[0].charAt(1))), this.convertHeaderToInt(params[0]));
+            ChessPosition end = ChessPosition.of(Integer.parseInt(String.valueOf(params[1].charAt(1))), this.convertHeaderToInt(params[1]));
             ChessPiece.PieceType promotionPiece;
             if (params.length == 3) {
                 promotionPiece = this.convertStringToPiece(params[2]);
@@ -67,7 +67,7 @@ public class GameClient extends Client {
                 promotionPiece = null;
             }
 
-            ChessMove move = new ChessMove(start, end, promotionPiece);
+            ChessMove move = ChessMove.of(start, end, promotionPiece);
             if (this.game.validMoves(start).contains(move)) {
                 // Make the move
                 return "";
@@ -137,18 +137,12 @@ public class GameClient extends Client {
         out.print("\u001b[38;5;15m");
         List<String> rowNums = Arrays.asList(" 8 ", " 7 ", " 6 ", " 5 ", " 4 ", " 3 ", " 2 ", " 1 ");
         ChessPiece[][] pieces = game.getBoard().getPieces();
-        Collection<ChessPosition> highlights = new ArrayList();
-        ChessPosition start = new ChessPosition(-1, -1);
-        Iterator var9 = moves.iterator();
-
-        while (var9.hasNext()) {
-            ChessMove move = (ChessMove) var9.next();
-            highlights.add(move.getEndPosition());
-            if (color == TeamColor.BLACK) {
-                start = new ChessPosition(move.getStartPosition().getRow() - 1, 8 - move.getStartPosition().getColumn());
-            } else {
-                start = new ChessPosition(8 - move.getStartPosition().getRow(), move.getStartPosition().getColumn() - 1);
-            }
+        //the same square masks the move generator uses, one bit per square to light up
+        long highlights = 0L;
+        long start = 0L;
+        for (ChessMove move : moves) {
+            highlights |= Bitboards.bit(Bitboards.square(move.getEndPosition()));
+            start = Bitboards.bit(Bitboards.square(move.getStartPosition()));
         }
 
         int row;
@@ -169,24 +163,12 @@ public class GameClient extends Client {
 
             pieces = blackPiecesTemp;
 
-            Collection<ChessPosition> newPositions = new ArrayList<>();
-            for (ChessPosition highlight : highlights) {
-                newPositions.add(new ChessPosition(highlight.getRow() - 1, 8 - highlight.getColumn()));
-            }
-            highlights = newPositions;
-
         } else {
             ChessPiece[][] whitePieces = new ChessPiece[8][8];
             for (int r = 0; r < 8; r++) {
                 whitePieces[r] = pieces[7 - r];
             }
             pieces = whitePieces;
-
-            Collection<ChessPosition> newPositions = new ArrayList<>();
-            for (ChessPosition highlight : highlights) {
-                newPositions.add(new ChessPosition(8 - highlight.getRow(), highlight.getColumn() - 1));
-            }
-            highlights = newPositions;
         }
 
 
@@ -204,10 +186,13 @@ public class GameClient extends Client {
 
             for (int var17 = 0; var17 < var16; ++var17) {
                 ChessPiece piece = var15[var17];
-                ChessPosition position = new ChessPosition(row, index);
-                if (highlights.contains(position)) {
+                //the board square drawn in this cell, so it can be compared with the moves' squares
+                long square = color == TeamColor.BLACK
+                        ? Bitboards.bit(Bitboards.square(row + 1, 8 - index))
+                        : Bitboards.bit(Bitboards.square(8 - row, index + 1));
+                if ((highlights & square) != 0) {
                     this.highlightPiece(out, index, row);
-                } else if (position.equals(start)) {
+                } else if ((start & square) != 0) {
                     out.print("\u001b[48;2;220;220;220m");
                 } else {
                     this.drawPiece(out, index, row);
@@ -315,7 +300,7 @@ public class GameClient extends Client {
                 throw new BadRequestException("Expected <position>");
             } else {
                 String col = String.valueOf(params[0].charAt(1));
-                ChessPosition position = new ChessPosition(Integer.parseInt(col), this.convertHeaderToInt(params[0]));
+                ChessPosition position = ChessPosition.of(Integer.parseInt(col), this.convertHeaderToInt(params[0]));
                 Collection<ChessMove> moves = game.validMoves(position);
                 if (moves.isEmpty()) {
                     throw new BadRequestException("This piece cannot move.");
@@ -146,7 +146,8 @@ public class PostLoginClient extends Client implements NotificationHandler {
             result.append(gameNumber).append(". ");
             result.append("Game name: ").append(game.gameName()).append(" | ");
             result.append("White: ").append(game.whiteUsername()).append(" | ");
-            result.append("Black: ").append(game.blackUsername()).append("\n");
+            result.append("Black: ").append(game.blackUsername()).append(" | ");
+            result.append(game.status()).append(", ").append(game.moveCount()).append(" moves\n");
         }
 
         return result.toString();
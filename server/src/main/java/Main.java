@@ -2,8 +2,8 @@ import chess.ChessGame;
 import chess.ChessPiece;
 import dataaccess.DataAccess;
 import dataaccess.DataAccessException;
-import dataaccess.MemoryDataAccess;
-import dataaccess.SqlDataAccess;
+import dataaccess.StorageBackend;
+import logging.Log;
 import server.Server;
 import service.AuthService;
 import service.ClearService;
@@ -12,24 +12,22 @@ import service.UserService;
 
 
 public class Main {
+    private static final Log LOG = Log.get(Main.class);
+
     public static void main(String[] args) {
         int port = 8080;
         if (args.length >= 1) {
             port = Integer.parseInt(args[0]);
         }
 
-        boolean useSql = true;
+        //-Dchess.storage=memory or embedded runs without a database server, e.g. for load tests
+        StorageBackend backend = StorageBackend.configured();
         DataAccess dataAccess;
-
-        if (useSql) {
-            try {
-                dataAccess = new SqlDataAccess();
-            } catch (DataAccessException e) {
-                System.err.println("SQL startup failed: " + e.getMessage());
-                return;
-            }
-        } else {
-            dataAccess = new MemoryDataAccess();
+        try {
+            dataAccess = backend.open();
+        } catch (DataAccessException e) {
+            LOG.error("startup_failed", e, "backend", backend);
+            return;
         }
 
         var userService = new UserService(dataAccess);
@@ -0,0 +1,22 @@
+package dataaccess;
+
+/**
+ * A snapshot of the auth token cache's counters
+ *
+ * @param hits         lookups answered with a cached token
+ * @param negativeHits lookups answered from a cached "no such token"
+ * @param misses       lookups that went to the database
+ * @param evictions    entries dropped for age or to make room
+ * @param size         entries currently cached
+ * @param maxEntries   most entries the cache will hold
+ */
+public record CacheStats(long hits, long negativeHits, long misses, long evictions, int size, int maxEntries) {
+
+    /**
+     * @return the share of lookups answered from the cache, between 0 and 1
+     */
+    public double hitRate() {
+        long lookups = hits + negativeHits + misses;
+        return lookups == 0 ? 0 : (double) (hits + negativeHits) / lookups;
+    }
+}
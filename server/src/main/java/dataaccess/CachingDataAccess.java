@@ -0,0 +1,240 @@
+package dataaccess;
+
+import chess.ChessMove;
+import model.AuthData;
+import model.GameData;
+import model.GameSummary;
+import model.MoveRecord;
+import model.UserData;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Wraps another {@link DataAccess} and remembers auth token lookups, since every
+ * authenticated request starts with {@link #getAuth}.
+ * <p>
+ * The cache holds at most {@code maxEntries} tokens, dropping the least recently
+ * used first, and forgets entries after a time to live. Unknown tokens are cached
+ * too, for a shorter time, so repeated bad tokens do not reach the database.
+ * {@link #createAuth}, {@link #deleteAuth} and {@link #clear} update the cache
+ * immediately. Everything else goes straight to the wrapped implementation.
+ */
+public class CachingDataAccess implements DataAccess {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
+    private final DataAccess data;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+    private final LongSupplier clock;
+
+    //guarded by itself; access order makes the eldest entry the least recently used
+    private final LinkedHashMap<String, Entry> tokens;
+    //bumped by every invalidation, so a lookup that raced with one is not cached
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record Entry(AuthData auth, long expiresAt) {
+    }
+
+    public CachingDataAccess(DataAccess data) {
+        this(data, DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    public CachingDataAccess(DataAccess data, int maxEntries, Duration ttl, Duration negativeTtl) {
+        this(data, maxEntries, ttl, negativeTtl, System::nanoTime);
+    }
+
+    CachingDataAccess(DataAccess data, int maxEntries, Duration ttl, Duration negativeTtl, LongSupplier clock) {
+        this.data = data;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+        this.clock = clock;
+        this.tokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CachingDataAccess.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public AuthData getAuth(String authToken) throws DataAccessException {
+        long now = clock.getAsLong();
+        long loadedIn;
+        synchronized (tokens) {
+            Entry entry = tokens.get(authToken);
+            if (entry != null && now - entry.expiresAt() < 0) {
+                if (entry.auth() == null) {
+                    negativeHits.incrementAndGet();
+                } else {
+                    hits.incrementAndGet();
+                }
+                return entry.auth();
+            }
+            if (entry != null) {
+                tokens.remove(authToken);
+                evictions.incrementAndGet();
+            }
+            loadedIn = generation;
+        }
+
+        misses.incrementAndGet();
+        AuthData auth = data.getAuth(authToken);
+        long ttl = auth == null ? negativeTtlNanos : ttlNanos;
+        synchronized (tokens) {
+            if (loadedIn == generation && ttl > 0) {
+                tokens.put(authToken, new Entry(auth, clock.getAsLong() + ttl));
+            }
+        }
+        return auth;
+    }
+
+    @Override
+    public void createAuth(AuthData auth) throws DataAccessException {
+        data.createAuth(auth);
+        synchronized (tokens) {
+            generation++;
+            if (ttlNanos > 0) {
+                tokens.put(auth.authToken(), new Entry(auth, clock.getAsLong() + ttlNanos));
+            }
+        }
+    }
+
+    @Override
+    public void deleteAuth(String authToken) throws DataAccessException {
+        try {
+            data.deleteAuth(authToken);
+        } finally {
+            synchronized (tokens) {
+                generation++;
+                tokens.remove(authToken);
+            }
+        }
+    }
+
+    @Override
+    public void clear() throws DataAccessException {
+        try {
+            data.clear();
+        } finally {
+            synchronized (tokens) {
+                generation++;
+                tokens.clear();
+            }
+        }
+    }
+
+    /**
+     * Drops expired entries now instead of waiting for them to be looked up or pushed out
+     */
+    public void evictExpired() {
+        long now = clock.getAsLong();
+        synchronized (tokens) {
+            Iterator<Entry> entries = tokens.values().iterator();
+            while (entries.hasNext()) {
+                if (now - entries.next().expiresAt() >= 0) {
+                    entries.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public CacheStats getStats() {
+        int size;
+        synchronized (tokens) {
+            size = tokens.size();
+        }
+        return new CacheStats(hits.get(), negativeHits.get(), misses.get(), evictions.get(), size, maxEntries);
+    }
+
+    @Override
+    public void createUser(UserData user) throws DataAccessException {
+        data.createUser(user);
+    }
+
+    @Override
+    public void createUsers(List<UserData> users) throws DataAccessException {
+        data.createUsers(users);
+    }
+
+    @Override
+    public UserData getUser(String username) throws DataAccessException {
+        return data.getUser(username);
+    }
+
+    @Override
+    public Set<String> getExistingUsernames(Collection<String> usernames) throws DataAccessException {
+        return data.getExistingUsernames(usernames);
+    }
+
+    @Override
+    public int createGame(GameData game) throws DataAccessException {
+        return data.createGame(game);
+    }
+
+    @Override
+    public int[] createGames(List<GameData> games) throws DataAccessException {
+        return data.createGames(games);
+    }
+
+    @Override
+    public GameData getGame(int gameID) throws DataAccessException {
+        return data.getGame(gameID);
+    }
+
+    @Override
+    public void updateGame(GameData game) throws DataAccessException {
+        data.updateGame(game);
+    }
+
+    @Override
+    public void updateGames(List<GameData> games) throws DataAccessException {
+        data.updateGames(games);
+    }
+
+    @Override
+    public boolean compareAndSetGame(GameData game) throws DataAccessException {
+        return data.compareAndSetGame(game);
+    }
+
+    @Override
+    public boolean appendMove(GameData game, ChessMove move) throws DataAccessException {
+        return data.appendMove(game, move);
+    }
+
+    @Override
+    public List<MoveRecord> getMoves(int gameID) throws DataAccessException {
+        return data.getMoves(gameID);
+    }
+
+    @Override
+    public GameData[] listGames() throws DataAccessException {
+        return data.listGames();
+    }
+
+    @Override
+    public GameSummary[] listGameSummaries(GameQuery query) throws DataAccessException {
+        return data.listGameSummaries(query);
+    }
+}
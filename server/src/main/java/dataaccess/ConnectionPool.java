@@ -0,0 +1,289 @@
+package dataaccess;
+
+import logging.Log;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of JDBC connections for {@link DatabaseManager}.
+ * <p>
+ * Borrowers get a proxy whose {@code close()} hands the connection back instead
+ * of closing it, so DAO code keeps using try-with-resources. Connections are
+ * checked with {@link Connection#isValid} when they have sat idle for a while,
+ * retired once they reach their maximum lifetime, and reported if a borrower
+ * holds one longer than the leak detection threshold.
+ */
+class ConnectionPool {
+    private static final Log LOG = Log.get(ConnectionPool.class);
+
+    //connections returned this recently are trusted without a validation round trip
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long maxLifetimeNanos;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final long leakThresholdNanos;
+    //capturing a stack trace on every borrow is costly, so it is only done when asked for
+    private final boolean leakStackTraces;
+
+    private final Semaphore permits;
+    private final ConcurrentLinkedDeque<PhysicalConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<Lease> active = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leakDetector;
+    private volatile boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Reads the db.pool.* settings: maxSize, maxLifetimeMillis, borrowTimeoutMillis,
+     * validationTimeoutSeconds, leakDetectionMillis (0 turns leak detection off) and
+     * leakStackTraces (true to report where a leaked connection was borrowed)
+     */
+    ConnectionPool(String url, String username, String password, Properties props) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = Integer.parseInt(props.getProperty("db.pool.maxSize", "10"));
+        this.maxLifetimeNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(props.getProperty("db.pool.maxLifetimeMillis", "1800000")));
+        this.borrowTimeoutMillis = Long.parseLong(props.getProperty("db.pool.borrowTimeoutMillis", "5000"));
+        this.validationTimeoutSeconds = Integer.parseInt(props.getProperty("db.pool.validationTimeoutSeconds", "2"));
+        long leakMillis = Long.parseLong(props.getProperty("db.pool.leakDetectionMillis", "30000"));
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakMillis);
+        this.leakStackTraces = leakMillis > 0
+                && Boolean.parseBoolean(props.getProperty("db.pool.leakStackTraces", "false"));
+        this.permits = new Semaphore(maxSize, true);
+
+        if (leakMillis > 0) {
+            leakDetector = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "connection-leak-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(leakMillis / 2, 1);
+            leakDetector.scheduleAtFixedRate(this::reportLeaks, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            leakDetector = null;
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout for one to free up.
+     * Close the returned connection to give it back.
+     */
+    Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a connection", e);
+        }
+
+        try {
+            PhysicalConnection physical = takeIdle();
+            if (physical == null) {
+                physical = new PhysicalConnection(DriverManager.getConnection(url, username, password));
+                createdCount.incrementAndGet();
+            }
+            long waited = System.nanoTime() - start;
+            borrowCount.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+            Lease lease = new Lease(physical, Thread.currentThread().getName(),
+                    leakStackTraces ? new Throwable("Connection borrowed here") : null);
+            active.add(lease);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, lease);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * @return a usable idle connection, or null if a new one has to be opened
+     */
+    private PhysicalConnection takeIdle() {
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            long now = System.nanoTime();
+            boolean usable = now - physical.created < maxLifetimeNanos
+                    && (now - physical.lastReturned < VALIDATION_BYPASS_NANOS || isValid(physical.connection));
+            if (usable) {
+                return physical;
+            }
+            physical.closeQuietly();
+        }
+        return null;
+    }
+
+    private boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void giveBack(Lease lease) {
+        active.remove(lease);
+        PhysicalConnection physical = lease.physical;
+        try {
+            if (!physical.connection.getAutoCommit()) {
+                physical.connection.rollback();
+                physical.connection.setAutoCommit(true);
+            }
+            physical.lastReturned = System.nanoTime();
+            if (closed || physical.lastReturned - physical.created >= maxLifetimeNanos) {
+                physical.closeQuietly();
+            } else {
+                //most recently used first, so spare connections age out at the back
+                idle.offerFirst(physical);
+            }
+        } catch (SQLException e) {
+            physical.closeQuietly();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reportLeaks() {
+        long now = System.nanoTime();
+        for (Lease lease : active) {
+            if (!lease.reported && now - lease.borrowed > leakThresholdNanos) {
+                lease.reported = true;
+                leakCount.incrementAndGet();
+                LOG.warn("connection_leak", lease.borrowSite, "thread", lease.thread,
+                        "heldMillis", TimeUnit.NANOSECONDS.toMillis(now - lease.borrowed));
+            }
+        }
+    }
+
+    PoolStats stats() {
+        long borrows = borrowCount.get();
+        return new PoolStats(active.size(), idle.size(), maxSize, createdCount.get(), borrows,
+                timeoutCount.get(), leakCount.get(),
+                borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get() / borrows),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()));
+    }
+
+    /**
+     * Closes idle connections now and borrowed ones as they come back
+     */
+    void close() {
+        closed = true;
+        if (leakDetector != null) {
+            leakDetector.shutdownNow();
+        }
+        PhysicalConnection physical;
+        while ((physical = idle.pollFirst()) != null) {
+            physical.closeQuietly();
+        }
+    }
+
+    private static final class PhysicalConnection {
+        final Connection connection;
+        final long created = System.nanoTime();
+        volatile long lastReturned = created;
+
+        PhysicalConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        void closeQuietly() {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                //already broken, nothing else to release
+            }
+        }
+    }
+
+    /**
+     * One borrowing of a connection; the proxy handed to the borrower calls through this
+     */
+    private final class Lease implements InvocationHandler {
+        final PhysicalConnection physical;
+        //the borrowing thread's name, and its stack only if leakStackTraces is on
+        final String thread;
+        final Throwable borrowSite;
+        final long borrowed = System.nanoTime();
+        volatile boolean reported;
+        private boolean returned;
+
+        Lease(PhysicalConnection physical, String thread, Throwable borrowSite) {
+            this.physical = physical;
+            this.thread = thread;
+            this.borrowSite = borrowSite;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    synchronized (this) {
+                        if (!returned) {
+                            returned = true;
+                            giveBack(this);
+                        }
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned || physical.connection.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled " + physical.connection;
+                }
+                default -> {
+                    if (returned) {
+                        throw new SQLException("Connection has been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(physical.connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,35 @@
 package dataaccess;
 
+import chess.ChessMove;
 import model.AuthData;
+import model.MoveRecord;
 import model.UserData;
 import model.GameData;
+import model.GameSummary;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface DataAccess {
     void clear() throws DataAccessException;
 
     //User stuff
     void createUser(UserData user) throws DataAccessException;
+
+    /**
+     * Creates all the users in one transaction; if any of them fails, none are created
+     */
+    void createUsers(List<UserData> users) throws DataAccessException;
     UserData getUser(String username) throws DataAccessException;
 
+    /**
+     * Looks up many usernames at once, for validating a batch without a query per user
+     *
+     * @return those of {@code usernames} that have an account
+     */
+    Set<String> getExistingUsernames(Collection<String> usernames) throws DataAccessException;
+
     //Auth stuff
     void createAuth(AuthData auth) throws DataAccessException;
     AuthData getAuth(String authToken) throws DataAccessException;
@@ -18,7 +37,46 @@ public interface DataAccess {
 
     //Game stuff
     int createGame(GameData game) throws DataAccessException;
+
+    /**
+     * Creates all the games in one transaction; if any of them fails, none are created
+     *
+     * @return the new games' ids, in the order the games were given
+     */
+    int[] createGames(List<GameData> games) throws DataAccessException;
     GameData getGame(int gameID) throws DataAccessException;
     void updateGame(GameData game) throws DataAccessException;
+
+    /**
+     * Saves all the games in one transaction, like {@link #updateGame} for each
+     */
+    void updateGames(List<GameData> games) throws DataAccessException;
+
+    /**
+     * Saves the game only if nobody has updated it since it was read at {@code game.version()}
+     *
+     * @return False if the stored game has moved on to another version, or no longer exists
+     */
+    boolean compareAndSetGame(GameData game) throws DataAccessException;
+
+    /**
+     * Saves {@code game} and adds {@code move}, the move that took the stored game to it, to
+     * the game's history. The stored game must be exactly one move behind and, as with
+     * {@link #compareAndSetGame}, still at {@code game.version()}. Seats are not changed.
+     *
+     * @return False if the stored game has moved on to another version, or no longer exists
+     */
+    boolean appendMove(GameData game, ChessMove move) throws DataAccessException;
+
+    /**
+     * @return the moves saved with {@link #appendMove}, in the order they were made; replaying
+     * them on a new game reproduces the stored one
+     */
+    List<MoveRecord> getMoves(int gameID) throws DataAccessException;
     GameData[] listGames() throws DataAccessException;
+
+    /**
+     * @return summaries of the games matching the query, in id order
+     */
+    GameSummary[] listGameSummaries(GameQuery query) throws DataAccessException;
 }
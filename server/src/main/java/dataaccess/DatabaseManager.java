@@ -11,9 +11,13 @@ public class DatabaseManager {
     private static String dbUsername;
     private static String dbPassword;
     private static String connectionUrl;
+    //a complete JDBC url from db.url, such as an embedded database, used instead of host and port
+    private static String databaseUrl;
+    private static ConnectionPool pool;
 
     /*
-     * Load the database information for the db.properties file.
+     * Load the database information for the db.properties file. System properties
+     * with the same db.* names override the file.
      */
     static {
         loadPropertiesFromResources();
@@ -23,6 +27,10 @@ public class DatabaseManager {
      * Creates the database if it does not already exist.
      */
     static public void createDatabase() throws DataAccessException {
+        if (databaseUrl != null) {
+            //the url already names the database, and embedded databases create it on connect
+            return;
+        }
         var statement = "CREATE DATABASE IF NOT EXISTS " + databaseName;
         try (var conn = DriverManager.getConnection(connectionUrl, dbUsername, dbPassword);
              var preparedStatement = conn.prepareStatement(statement)) {
@@ -33,10 +41,10 @@ public class DatabaseManager {
     }
 
     /**
-     * Create a connection to the database and sets the catalog based upon the
+     * Borrows a connection to the database from the pool, which connects using the
      * properties specified in db.properties. Connections to the database should
-     * be short-lived, and you must close the connection when you are done with it.
-     * The easiest way to do that is with a try-with-resource block.
+     * be short-lived, and you must close the connection when you are done with it,
+     * which returns it to the pool. The easiest way to do that is with a try-with-resource block.
      * <br/>
      * <code>
      * try (var conn = DatabaseManager.getConnection()) {
@@ -47,27 +55,38 @@ public class DatabaseManager {
 
     public static Connection getConnection() throws DataAccessException {
         try {
-            if (databaseName == null) {
-                System.err.println("ERROR: databaseName is null");
-            }
-            Connection conn = DriverManager.getConnection(connectionUrl + "/" + databaseName, dbUsername, dbPassword);
-            conn.setAutoCommit(true);
-            System.out.println("DEBUG: Successfully connected to DB: " + databaseName);
-            return conn;
+            return pool.borrow();
         } catch (SQLException ex) {
-            ex.printStackTrace();
             throw new DataAccessException("Error: failed to get connection", ex);
         }
     }
 
+    static ConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * @return current connection pool counters
+     */
+    public static PoolStats getPoolStats() {
+        return pool.stats();
+    }
+
 
     private static void loadPropertiesFromResources() {
         try (var propStream = Thread.currentThread().getContextClassLoader().getResourceAsStream("db.properties")) {
-            if (propStream == null) {
+            Properties props = new Properties();
+            if (propStream != null) {
+                props.load(propStream);
+            }
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("db.")) {
+                    props.setProperty(name, System.getProperty(name));
+                }
+            }
+            if (props.isEmpty()) {
                 throw new Exception("Error: Unable to load db.properties");
             }
-            Properties props = new Properties();
-            props.load(propStream);
             loadProperties(props);
         } catch (Exception ex) {
             throw new RuntimeException("Error: unable to process db.properties", ex);
@@ -78,9 +97,21 @@ public class DatabaseManager {
         databaseName = props.getProperty("db.name");
         dbUsername = props.getProperty("db.user");
         dbPassword = props.getProperty("db.password");
+        databaseUrl = props.getProperty("db.url");
+        if (databaseUrl == null) {
+            var host = props.getProperty("db.host");
+            var port = Integer.parseInt(props.getProperty("db.port"));
+            connectionUrl = String.format("jdbc:mysql://%s:%d", host, port);
+        }
 
-        var host = props.getProperty("db.host");
-        var port = Integer.parseInt(props.getProperty("db.port"));
-        connectionUrl = String.format("jdbc:mysql://%s:%d", host, port);
+        //lets the driver send a JDBC batch as one multi-row statement
+        String url = databaseUrl != null ? databaseUrl
+                : connectionUrl + "/" + databaseName + "?rewriteBatchedStatements=true";
+        ConnectionPool previous = pool;
+        pool = new ConnectionPool(url, dbUsername, dbPassword, props);
+        //connections still borrowed from the old pool are closed as they come back
+        if (previous != null) {
+            previous.close();
+        }
     }
 }
@@ -0,0 +1,41 @@
+package dataaccess;
+
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * {@link SqlDataAccess} on an H2 database kept in a local file, for single-node
+ * deployments, tests and benchmarks that should not need a MySQL server.
+ * <p>
+ * H2 runs in MySQL mode inside this process, so the same SQL and migrations are used
+ * and every query is a method call instead of a network round trip. The database is
+ * created on first use; {@code db.pool.*} system properties size its connection pool.
+ * Only one process can open the file at a time.
+ */
+public class EmbeddedDataAccess extends SqlDataAccess implements AutoCloseable {
+    /**
+     * @param file the database file, without H2's {@code .mv.db} extension
+     */
+    public EmbeddedDataAccess(Path file) throws DataAccessException {
+        super(openPool(file));
+    }
+
+    private static ConnectionPool openPool(Path file) {
+        Properties props = new Properties();
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("db.pool.")) {
+                props.setProperty(name, System.getProperty(name));
+            }
+        }
+        String url = "jdbc:h2:file:" + file.toAbsolutePath() + ";MODE=MySQL";
+        return new ConnectionPool(url, "sa", "", props);
+    }
+
+    /**
+     * Closes the pooled connections; H2 closes the file once the last one is gone
+     */
+    @Override
+    public void close() {
+        pool().close();
+    }
+}
@@ -0,0 +1,27 @@
+package dataaccess;
+
+import model.GameData;
+import model.GameStatus;
+
+/**
+ * Which games {@link DataAccess#listGameSummaries(GameQuery)} returns: those with an id
+ * after {@code afterGameID}, optionally only ones still open to join, ones a
+ * player is seated in, or ones whose name starts with a prefix. A limit of 0
+ * means no limit.
+ */
+public record GameQuery(int afterGameID, int limit, boolean openSeatsOnly, String player, String namePrefix) {
+    public static final GameQuery ALL = new GameQuery(0, 0, false, null, null);
+
+    public boolean matches(GameData game) {
+        if (game.gameID() <= afterGameID) {
+            return false;
+        }
+        if (openSeatsOnly && GameStatus.of(game) != GameStatus.OPEN) {
+            return false;
+        }
+        if (player != null && !player.equals(game.whiteUsername()) && !player.equals(game.blackUsername())) {
+            return false;
+        }
+        return namePrefix == null || (game.gameName() != null && game.gameName().startsWith(namePrefix));
+    }
+}
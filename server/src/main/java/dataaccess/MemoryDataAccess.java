@@ -1,11 +1,25 @@
 package dataaccess;
 
+import chess.ChessMove;
 import model.AuthData;
 import model.UserData;
 import model.GameData;
+import model.GameSummary;
+import model.MoveRecord;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps everything in concurrent maps, so it is safe to share between request threads.
+ * <p>
+ * Games are kept sorted by id, which lets a listing page start at its cursor instead
+ * of scanning and sorting every game. Listings iterate the map without locking; each
+ * game appears at most once, as it was at some point during the call.
+ */
 public class MemoryDataAccess implements DataAccess {
     private static final MemoryDataAccess CHESS_DATA = new MemoryDataAccess();
 
@@ -13,10 +27,12 @@ public class MemoryDataAccess implements DataAccess {
         return CHESS_DATA;
     }
 
-    private final Map<String, UserData> users = new HashMap<>();
-    private final Map<String, AuthData> authTokens = new HashMap<>();
-    private final Map<Integer, GameData> games = new HashMap<>();
-    private int nextGameID = 1;
+    private final Map<String, UserData> users = new ConcurrentHashMap<>();
+    private final Map<String, AuthData> authTokens = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Integer, GameData> games = new ConcurrentSkipListMap<>();
+    private final AtomicInteger nextGameID = new AtomicInteger(1);
+    //each game's moves by ply
+    private final Map<Integer, ConcurrentNavigableMap<Integer, MoveRecord>> moves = new ConcurrentHashMap<>();
 
     public Map<String, UserData> getUsers() {
         return users;
@@ -35,15 +51,32 @@ public class MemoryDataAccess implements DataAccess {
         users.clear();
         authTokens.clear();
         games.clear();
-        nextGameID = 1;
+        moves.clear();
+        nextGameID.set(1);
     }
 
     @Override
     public void createUser(UserData user) throws DataAccessException {
-        if (users.containsKey(user.username())) {
+        if (users.putIfAbsent(user.username(), user) != null) {
             throw new DataAccessException("Username already exists");
         }
-        users.put(user.username(), user);
+    }
+
+    /**
+     * Adds users one at a time, taking back the ones already added if a later one is a duplicate
+     */
+    @Override
+    public void createUsers(List<UserData> users) throws DataAccessException {
+        List<UserData> added = new ArrayList<>(users.size());
+        for (UserData user : users) {
+            if (this.users.putIfAbsent(user.username(), user) != null) {
+                for (UserData undo : added) {
+                    this.users.remove(undo.username(), undo);
+                }
+                throw new DataAccessException("Username already exists: " + user.username());
+            }
+            added.add(user);
+        }
     }
 
     @Override
@@ -51,6 +84,17 @@ public class MemoryDataAccess implements DataAccess {
         return users.get(username);
     }
 
+    @Override
+    public Set<String> getExistingUsernames(Collection<String> usernames) {
+        Set<String> existing = new HashSet<>();
+        for (String username : usernames) {
+            if (users.containsKey(username)) {
+                existing.add(username);
+            }
+        }
+        return existing;
+    }
+
     @Override
     public void createAuth(AuthData auth) {
         authTokens.put(auth.authToken(), auth);
@@ -66,10 +110,31 @@ public class MemoryDataAccess implements DataAccess {
         authTokens.remove(token);
     }
 
+    /**
+     * Stores the game under a newly generated id; the id in {@code game} is ignored
+     */
     @Override
-    public int createGame(GameData game) {
-        games.put(game.gameID(), game);
-        return game.gameID();
+    public int createGame(GameData game) throws DataAccessException {
+        if (game.gameName() == null) {
+            throw new DataAccessException("Error: game name cannot be null");
+        }
+        int gameID = nextGameID.getAndIncrement();
+        games.put(gameID, new GameData(gameID, game.whiteUsername(), game.blackUsername(), game.gameName(), game.game()));
+        return gameID;
+    }
+
+    @Override
+    public int[] createGames(List<GameData> games) throws DataAccessException {
+        for (GameData game : games) {
+            if (game.gameName() == null) {
+                throw new DataAccessException("Error: game name cannot be null");
+            }
+        }
+        int[] ids = new int[games.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = createGame(games.get(i));
+        }
+        return ids;
     }
 
     @Override
@@ -77,13 +142,83 @@ public class MemoryDataAccess implements DataAccess {
         return games.get(gameID);
     }
 
+    /**
+     * Replaces a stored game; like an SQL UPDATE, a game that does not exist is not created
+     */
     @Override
     public void updateGame(GameData game) {
-        games.put(game.gameID(), game);
+        games.computeIfPresent(game.gameID(), (id, current) -> nextVersion(game, current.version()));
+    }
+
+    @Override
+    public void updateGames(List<GameData> games) {
+        for (GameData game : games) {
+            updateGame(game);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetGame(GameData game) {
+        boolean[] swapped = new boolean[1];
+        games.computeIfPresent(game.gameID(), (id, current) -> {
+            swapped[0] = current.version() == game.version();
+            return swapped[0] ? nextVersion(game, current.version()) : current;
+        });
+        return swapped[0];
+    }
+
+    /**
+     * Keeps the whole game like {@link #updateGame}, and records the move in its history.
+     * The record is added only once the swap has succeeded, since the map may run the
+     * update function more than once under contention.
+     */
+    @Override
+    public boolean appendMove(GameData game, ChessMove move) {
+        int ply = game.game().getMoveCount();
+        boolean[] appended = new boolean[1];
+        games.computeIfPresent(game.gameID(), (id, current) -> {
+            int storedPly = current.game() != null ? current.game().getMoveCount() : 0;
+            appended[0] = current.version() == game.version() && storedPly == ply - 1;
+            if (!appended[0]) {
+                return current;
+            }
+            return new GameData(id, current.whiteUsername(), current.blackUsername(), current.gameName(),
+                    game.game(), current.version() + 1);
+        });
+        if (appended[0]) {
+            moves.computeIfAbsent(game.gameID(), key -> new ConcurrentSkipListMap<>())
+                    .put(ply, new MoveRecord(ply, move, System.currentTimeMillis()));
+        }
+        return appended[0];
+    }
+
+    @Override
+    public List<MoveRecord> getMoves(int gameID) {
+        ConcurrentNavigableMap<Integer, MoveRecord> played = moves.get(gameID);
+        return played == null ? List.of() : List.copyOf(played.values());
+    }
+
+    private static GameData nextVersion(GameData game, int version) {
+        return new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName(), game.game(),
+                version + 1);
     }
 
     @Override
     public GameData[] listGames() {
         return games.values().toArray(new GameData[0]);
     }
+
+    @Override
+    public GameSummary[] listGameSummaries(GameQuery query) {
+        List<GameSummary> matches = new ArrayList<>();
+        for (GameData game : games.tailMap(query.afterGameID(), false).values()) {
+            if (query.matches(game)) {
+                matches.add(GameSummary.of(game));
+                if (matches.size() == query.limit()) {
+                    break;
+                }
+            }
+        }
+        return matches.toArray(new GameSummary[0]);
+    }
 }
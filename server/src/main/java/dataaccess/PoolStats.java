@@ -0,0 +1,18 @@
+package dataaccess;
+
+/**
+ * A snapshot of the connection pool's counters
+ *
+ * @param active        connections currently borrowed
+ * @param idle          open connections waiting to be borrowed
+ * @param maxSize       most connections the pool will open at once
+ * @param created       connections opened since startup
+ * @param borrows       successful borrows since startup
+ * @param timeouts      borrows that gave up waiting for a connection
+ * @param leaks         borrows held past the leak detection threshold
+ * @param averageWaitMicros average time a borrow waited, including opening a connection
+ * @param maxWaitMicros longest time a borrow waited
+ */
+public record PoolStats(int active, int idle, int maxSize, long created, long borrows, long timeouts, long leaks,
+                        long averageWaitMicros, long maxWaitMicros) {
+}
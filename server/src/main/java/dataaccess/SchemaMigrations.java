@@ -0,0 +1,209 @@
+package dataaccess;
+
+import chess.ChessGame;
+import logging.Log;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Versioned changes to the database schema, applied in order when {@link SqlDataAccess} starts.
+ * <p>
+ * The {@code schema_version} table records each migration that has run, so every
+ * step runs once per database. Released migrations are never edited; a schema change
+ * is a new entry at the end of {@link #MIGRATIONS}. The first four check the live
+ * schema before changing it, because databases created before this table existed
+ * already have some of them.
+ */
+final class SchemaMigrations {
+    private static final Log LOG = Log.get(SchemaMigrations.class);
+
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection conn, Statement statement) throws SQLException;
+    }
+
+    record Migration(int version, String description, Step step) {
+    }
+
+    static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "users, auth and games tables", SchemaMigrations::createTables),
+            new Migration(2, "binary game state", SchemaMigrations::binaryGameState),
+            new Migration(3, "game list columns", SchemaMigrations::listColumns),
+            new Migration(4, "game version for conditional updates", SchemaMigrations::versionColumn),
+            new Migration(5, "player and status indexes, turn and updated_at", SchemaMigrations::lobbyIndexes),
+            new Migration(6, "append-only move log", SchemaMigrations::moveLog));
+
+    static final int LATEST = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Applies every migration the database has not seen yet
+     *
+     * @return the schema version the database is now at
+     */
+    static int migrate(Connection conn) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS schema_version (
+                            version INT PRIMARY KEY,
+                            description VARCHAR(255) NOT NULL,
+                            applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+                        )
+                    """);
+            int current = currentVersion(statement);
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                //most databases commit DDL immediately, so each step is recorded as soon as it is done
+                migration.step().apply(conn, statement);
+                try (PreparedStatement record = conn.prepareStatement(
+                        "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                    record.setInt(1, migration.version());
+                    record.setString(2, migration.description());
+                    record.executeUpdate();
+                }
+                current = migration.version();
+                LOG.info("schema_migrated", "version", current, "description", migration.description());
+            }
+            return current;
+        }
+    }
+
+    static int currentVersion(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void createTables(Connection conn, Statement statement) throws SQLException {
+        statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS users (
+                        username VARCHAR(255) PRIMARY KEY,
+                        password VARCHAR(255) NOT NULL,
+                        email VARCHAR(255)
+                    )
+                """);
+
+        statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS auth (
+                        token VARCHAR(255) PRIMARY KEY,
+                        username VARCHAR(255),
+                        FOREIGN KEY (username) REFERENCES users(username)
+                    )
+                """);
+
+        statement.executeUpdate("""
+                    CREATE TABLE IF NOT EXISTS games (
+                        id INT PRIMARY KEY AUTO_INCREMENT,
+                        name VARCHAR(255) NOT NULL,
+                        gameState TEXT,
+                        white VARCHAR(255),
+                        black VARCHAR(255),
+                        FOREIGN KEY (white) REFERENCES users(username),
+                        FOREIGN KEY (black) REFERENCES users(username)
+                    )
+                """);
+    }
+
+    /**
+     * Game state used to be JSON text; {@link SqlDataAccess} still reads rows written that way
+     */
+    private static void binaryGameState(Connection conn, Statement statement) throws SQLException {
+        int type;
+        try (ResultSet rs = statement.executeQuery("SELECT gameState FROM games WHERE 1 = 0")) {
+            type = rs.getMetaData().getColumnType(1);
+        }
+        boolean binary = type == Types.BLOB || type == Types.BINARY
+                || type == Types.VARBINARY || type == Types.LONGVARBINARY;
+        if (!binary) {
+            statement.executeUpdate("ALTER TABLE games MODIFY gameState BLOB");
+        }
+    }
+
+    /**
+     * Older rows get a status from their seats and no move count
+     */
+    private static void listColumns(Connection conn, Statement statement) throws SQLException {
+        if (!hasColumn(statement, "games", "status")) {
+            statement.executeUpdate("ALTER TABLE games ADD COLUMN status VARCHAR(16) NOT NULL DEFAULT 'OPEN'");
+            statement.executeUpdate(
+                    "UPDATE games SET status = 'IN_PROGRESS' WHERE white IS NOT NULL AND black IS NOT NULL");
+        }
+        if (!hasColumn(statement, "games", "moveCount")) {
+            statement.executeUpdate("ALTER TABLE games ADD COLUMN moveCount INT NOT NULL DEFAULT 0");
+        }
+    }
+
+    private static void versionColumn(Connection conn, Statement statement) throws SQLException {
+        if (!hasColumn(statement, "games", "version")) {
+            statement.executeUpdate("ALTER TABLE games ADD COLUMN version INT NOT NULL DEFAULT 0");
+        }
+    }
+
+    /**
+     * Makes the per-player queries ("games for a user", "revoke a user's tokens") and the
+     * open-game lobby filter index lookups instead of table scans
+     */
+    private static void lobbyIndexes(Connection conn, Statement statement) throws SQLException {
+        statement.executeUpdate("CREATE INDEX auth_username ON auth (username)");
+        statement.executeUpdate("CREATE INDEX games_white ON games (white)");
+        statement.executeUpdate("CREATE INDEX games_black ON games (black)");
+        //status first so the lobby's open games come back in id order straight from the index
+        statement.executeUpdate("CREATE INDEX games_status ON games (status, id)");
+        statement.executeUpdate("ALTER TABLE games ADD COLUMN turn VARCHAR(5) NOT NULL DEFAULT 'WHITE'");
+        statement.executeUpdate(
+                "ALTER TABLE games ADD COLUMN updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP");
+
+        //whose turn it is lives inside the stored state, so existing games are read once to fill it in
+        try (ResultSet rs = statement.executeQuery("SELECT id, gameState FROM games WHERE gameState IS NOT NULL");
+             PreparedStatement update = conn.prepareStatement("UPDATE games SET turn = ? WHERE id = ?")) {
+            while (rs.next()) {
+                ChessGame game = SqlDataAccess.readGame(rs);
+                if (game != null && game.getTeamTurn() == ChessGame.TeamColor.BLACK) {
+                    update.setString(1, ChessGame.TeamColor.BLACK.name());
+                    update.setInt(2, rs.getInt("id"));
+                    update.addBatch();
+                }
+            }
+            update.executeBatch();
+        }
+    }
+
+    /**
+     * One row per move, so a game's history can be replayed from the start
+     */
+    private static void moveLog(Connection conn, Statement statement) throws SQLException {
+        statement.executeUpdate("""
+                    CREATE TABLE moves (
+                        game_id INT NOT NULL,
+                        ply INT NOT NULL,
+                        packedMove INT NOT NULL,
+                        played_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (game_id, ply),
+                        FOREIGN KEY (game_id) REFERENCES games(id)
+                    )
+                """);
+    }
+
+    static boolean hasColumn(Statement statement, String table, String column) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (meta.getColumnName(i).equalsIgnoreCase(column)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
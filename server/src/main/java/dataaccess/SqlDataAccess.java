@@ -1,65 +1,141 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.GameStateCodec;
+import chess.InvalidMoveException;
+import chess.PackedMove;
+import com.google.gson.JsonParseException;
+import logging.Log;
 import model.AuthData;
 import model.GameData;
+import model.GameStatus;
+import model.GameSummary;
+import model.MoveRecord;
 import model.UserData;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-
+/**
+ * Stores everything in a relational database through JDBC. The SQL is written for MySQL
+ * and also runs on H2 in MySQL mode, which {@link EmbeddedDataAccess} uses.
+ */
 public class SqlDataAccess implements DataAccess {
-
+    private static final Log LOG = Log.get(SqlDataAccess.class);
+    //rows sent per executeBatch call by the bulk methods
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email) VALUES (?, ?, ?)";
+    private static final String INSERT_GAME =
+            "INSERT INTO games (name, gameState, white, black, status, moveCount, turn) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_GAME = "UPDATE games SET gameState = ?, white = ?, black = ?, status = ?, "
+            + "moveCount = ?, turn = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+
+    private static final String INSERT_MOVE = "INSERT INTO moves (game_id, ply, packedMove) VALUES (?, ?, ?)";
+    //appendMove rewrites gameState only on plies divisible by this; reads replay the moves since
+    static final int SNAPSHOT_PLIES = 16;
+
+    //null to borrow from DatabaseManager's pool, which is replaced whenever its properties are reloaded
+    private final ConnectionPool pool;
+
+    /**
+     * Connects to the database configured for {@link DatabaseManager}, creating it if needed
+     */
     public SqlDataAccess() throws DataAccessException {
         DatabaseManager.createDatabase();
-        createTablesIfNotExist();
+        this.pool = null;
+        migrate();
+    }
+
+    /**
+     * Uses the given pool's database, which must already exist
+     */
+    SqlDataAccess(ConnectionPool pool) throws DataAccessException {
+        this.pool = pool;
+        migrate();
     }
 
-    private void createTablesIfNotExist() throws DataAccessException {
-        try (Connection connection = DatabaseManager.getConnection();
-             Statement statement = connection.createStatement()) {
-
-            statement.executeUpdate("""
-                        CREATE TABLE IF NOT EXISTS users (
-                            username VARCHAR(255) PRIMARY KEY,
-                            password VARCHAR(255) NOT NULL,
-                            email VARCHAR(255)
-                        )
-                    """);
-
-            statement.executeUpdate("""
-                        CREATE TABLE IF NOT EXISTS auth (
-                            token VARCHAR(255) PRIMARY KEY,
-                            username VARCHAR(255),
-                            FOREIGN KEY (username) REFERENCES users(username)
-                        )
-                    """);
-
-
-            statement.executeUpdate("""
-                        CREATE TABLE IF NOT EXISTS games (
-                            id INT PRIMARY KEY AUTO_INCREMENT,
-                            name VARCHAR(255) NOT NULL,
-                            gameState TEXT,
-                            white VARCHAR(255),
-                            black VARCHAR(255),
-                            FOREIGN KEY (white) REFERENCES users(username),
-                            FOREIGN KEY (black) REFERENCES users(username)
-                            
-                        )
-                    """);
+    /**
+     * @return the pool connections are borrowed from, looked up on each call for DatabaseManager's
+     */
+    ConnectionPool pool() {
+        return pool != null ? pool : DatabaseManager.getPool();
+    }
+
+    private Connection connect() throws DataAccessException {
+        try {
+            return pool().borrow();
+        } catch (SQLException ex) {
+            throw new DataAccessException("Error: failed to get connection", ex);
+        }
+    }
 
+    private void migrate() throws DataAccessException {
+        try (Connection connection = connect()) {
+            SchemaMigrations.migrate(connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error: initializing database tables", e);
         }
     }
 
+    /**
+     * Reads the stored game and replays any moves appended since it was written
+     */
+    private static ChessGame readGame(Connection conn, ResultSet rs) throws SQLException {
+        ChessGame game = readGame(rs);
+        int moveCount = rs.getInt("moveCount");
+        if (game == null || game.getMoveCount() >= moveCount) {
+            return game;
+        }
+        String sql = "SELECT packedMove FROM moves WHERE game_id = ? AND ply > ? ORDER BY ply";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, rs.getInt("id"));
+            stmt.setInt(2, game.getMoveCount());
+            try (ResultSet moves = stmt.executeQuery()) {
+                while (moves.next()) {
+                    game.makeMove(PackedMove.toChessMove(moves.getInt("packedMove")));
+                }
+            }
+        } catch (InvalidMoveException e) {
+            throw new SQLException("Unreplayable move log for game " + rs.getInt("id"), e);
+        }
+        if (game.getMoveCount() != moveCount) {
+            throw new SQLException("Move log for game " + rs.getInt("id") + " stops at ply " + game.getMoveCount());
+        }
+        return game;
+    }
+
+    /**
+     * Stored games are {@link GameStateCodec} bytes; rows written before that hold JSON text
+     */
+    static ChessGame readGame(ResultSet rs) throws SQLException {
+        byte[] state = rs.getBytes("gameState");
+        if (state == null) {
+            return null;
+        }
+        if (GameStateCodec.isEncoded(state)) {
+            return GameStateCodec.decode(state);
+        }
+        try {
+            return ChessGame.deserialize(new String(state, StandardCharsets.UTF_8));
+        } catch (JsonParseException e) {
+            throw new SQLException("Unreadable game state", e);
+        }
+    }
+
     @Override
     public void clear() throws DataAccessException {
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = connect();
              Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM moves");
             stmt.executeUpdate("DELETE FROM games");
             stmt.executeUpdate("DELETE FROM auth");
             stmt.executeUpdate("DELETE FROM users");
@@ -71,7 +147,7 @@ public class SqlDataAccess implements DataAccess {
     @Override
     public UserData getUser(String username) throws DataAccessException {
         String sql = "SELECT username, password, email FROM users WHERE username = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, username);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -89,10 +165,39 @@ public class SqlDataAccess implements DataAccess {
         }
     }
 
+    /**
+     * One {@code IN} query per {@link #BATCH_SIZE} usernames
+     */
+    @Override
+    public Set<String> getExistingUsernames(Collection<String> usernames) throws DataAccessException {
+        List<String> remaining = List.copyOf(new HashSet<>(usernames));
+        Set<String> existing = new HashSet<>();
+        try (Connection conn = connect()) {
+            for (int start = 0; start < remaining.size(); start += BATCH_SIZE) {
+                List<String> chunk = remaining.subList(start, Math.min(start + BATCH_SIZE, remaining.size()));
+                String sql = "SELECT username FROM users WHERE username IN ("
+                        + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        stmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            existing.add(rs.getString("username"));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to retrieve users", e);
+        }
+        return existing;
+    }
+
     @Override
     public AuthData getAuth(String authToken) throws DataAccessException {
         String sql = "SELECT token, username FROM auth WHERE token = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, authToken);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -110,7 +215,7 @@ public class SqlDataAccess implements DataAccess {
     @Override
     public void deleteAuth(String authToken) throws DataAccessException {
         String sql = "DELETE FROM auth WHERE token = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, authToken);
             stmt.executeUpdate();
@@ -125,15 +230,11 @@ public class SqlDataAccess implements DataAccess {
             throw new DataAccessException("Error: password cannot be null");
         }
 
-        System.out.println("Creating user with password hash: " + user.password());
-
-        String sql = "INSERT INTO users (username, password, email) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, user.username());
-            stmt.setString(2, user.password());
-            stmt.setString(3, user.email());
+        try (Connection conn = connect();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_USER)) {
+            bindUser(stmt, user);
             stmt.executeUpdate();
+            LOG.debug("create_user", "username", user.username());
         } catch (SQLException e) {
             throw new DataAccessException("Error: failed to create user", e);
         }
@@ -141,128 +242,300 @@ public class SqlDataAccess implements DataAccess {
 
     @Override
     public void createAuth(AuthData auth) throws DataAccessException {
-        System.out.println("Creating auth token for user: " + auth.username());
         String sql = "INSERT INTO auth (token, username) VALUES (?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, auth.authToken());
             stmt.setString(2, auth.username());
             stmt.executeUpdate();
-            System.out.println("Auth token created successfully: " + auth.authToken());
+            LOG.debug("create_auth", "username", auth.username());
         } catch (SQLException e) {
-            System.err.println("Error creating auth token: " + e.getMessage());
             throw new DataAccessException("Error: failed to create auth token", e);
         }
     }
 
     @Override
     public int createGame(GameData game) throws DataAccessException {
-        String sql = "INSERT INTO games (name, gameState, white, black) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DatabaseManager.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            System.out.println("DEBUG: Preparing to insert game: " + game.gameName());
-
-            stmt.setString(1, game.gameName());
-            stmt.setString(2, game.game() != null ? game.game().serialize() : null);
-
-            if (game.whiteUsername() != null) {
-                stmt.setString(3, game.whiteUsername());
-            } else {
-                stmt.setNull(3, Types.VARCHAR);
-            }
-
-            if (game.blackUsername() != null) {
-                stmt.setString(4, game.blackUsername());
-            } else {
-                stmt.setNull(4, Types.VARCHAR);
-            }
-
-            int affectedRows = stmt.executeUpdate();
-            System.out.println("DEBUG: Rows affected by insert: " + affectedRows);
+        try (Connection conn = connect();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_GAME, Statement.RETURN_GENERATED_KEYS)) {
+            bindNewGame(stmt, game);
+            stmt.executeUpdate();
 
             try (ResultSet keys = stmt.getGeneratedKeys()) {
                 if (keys.next()) {
                     int id = keys.getInt(1);
-                    System.out.println("DEBUG: Generated game ID: " + id);
+                    LOG.debug("create_game", "gameID", id, "name", game.gameName());
                     return id;
                 } else {
-                    System.out.println("DEBUG: No generated key returned!");
                     throw new DataAccessException("Error: Failed to get auto-generated game ID");
                 }
             }
 
         } catch (SQLException e) {
-            System.out.println("DEBUG: SQLException: " + e.getMessage());
             throw new DataAccessException("Error: Failed to create game", e);
         }
     }
 
     @Override
     public void updateGame(GameData game) throws DataAccessException {
-        String sql = "UPDATE games SET gameState = ?, white = ?, black = ? WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        int rowsUpdated = writeGame(game, false);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("update_game", "gameID", game.gameID(), "white", game.whiteUsername(),
+                    "black", game.blackUsername(), "rows", rowsUpdated);
+        }
+    }
+
+    /**
+     * A single conditional UPDATE, so two writers that read the same version cannot both succeed
+     */
+    @Override
+    public boolean compareAndSetGame(GameData game) throws DataAccessException {
+        return writeGame(game, true) == 1;
+    }
+
+    /**
+     * Writes the game's columns and bumps its version
+     *
+     * @param checkVersion only write if the stored version is still {@code game.version()}
+     * @return how many rows were updated
+     */
+    private int writeGame(GameData game, boolean checkVersion) throws DataAccessException {
+        String sql = UPDATE_GAME + (checkVersion ? " AND version = ?" : "");
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            bindGameUpdate(stmt, game);
+            if (checkVersion) {
+                stmt.setInt(8, game.version());
+            }
+            return stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to update game", e);
+        }
+    }
 
-            System.out.printf("updateGame: id=%d, white=%s, black=%s, name=%s%n",
-                    game.gameID(), game.whiteUsername(), game.blackUsername(), game.gameName());
-            stmt.setString(1, game.game().serialize());
+    /**
+     * Inserts the move and updates the game row in one transaction. Like
+     * {@link #compareAndSetGame}, the update only matches the version that was read, so of
+     * two racing writes the second finds nothing to update and no move is inserted.
+     * <p>
+     * The encoded state grows with the repetition keys it carries, up to about a kilobyte,
+     * so it is only rewritten every {@link #SNAPSHOT_PLIES} plies. Other moves update just
+     * the listing columns, and reads replay the moves made since the snapshot.
+     */
+    @Override
+    public boolean appendMove(GameData game, ChessMove move) throws DataAccessException {
+        int ply = game.game().getMoveCount();
+        boolean snapshot = ply % SNAPSHOT_PLIES == 0;
+        String sql = "UPDATE games SET " + (snapshot ? "gameState = ?, " : "")
+                + "status = ?, moveCount = ?, turn = ?, version = version + 1, "
+                + "updated_at = CURRENT_TIMESTAMP WHERE id = ? AND version = ? AND moveCount = ?";
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement update = conn.prepareStatement(sql);
+                 PreparedStatement insert = conn.prepareStatement(INSERT_MOVE)) {
+                int index = 1;
+                if (snapshot) {
+                    update.setBytes(index++, game.game().encode());
+                }
+                update.setString(index++, GameStatus.of(game).name());
+                update.setInt(index++, ply);
+                update.setString(index++, game.game().getTeamTurn().name());
+                update.setInt(index++, game.gameID());
+                update.setInt(index++, game.version());
+                update.setInt(index, ply - 1);
+                if (update.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
 
-            if (game.whiteUsername() != null) {
-                stmt.setString(2, game.whiteUsername());
-            } else {
-                stmt.setNull(2, Types.VARCHAR);
+                insert.setInt(1, game.gameID());
+                insert.setInt(2, ply);
+                insert.setInt(3, PackedMove.fromChessMove(move));
+                insert.executeUpdate();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
             }
+            LOG.debug("append_move", "gameID", game.gameID(), "ply", ply);
+            return true;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to save move", e);
+        }
+    }
 
-            if (game.blackUsername() != null) {
-                stmt.setString(3, game.blackUsername());
-            } else {
-                stmt.setNull(3, Types.VARCHAR);
+    @Override
+    public List<MoveRecord> getMoves(int gameID) throws DataAccessException {
+        String sql = "SELECT ply, packedMove, played_at FROM moves WHERE game_id = ? ORDER BY ply";
+        try (Connection conn = connect();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, gameID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<MoveRecord> moves = new ArrayList<>();
+                while (rs.next()) {
+                    moves.add(new MoveRecord(
+                            rs.getInt("ply"),
+                            PackedMove.toChessMove(rs.getInt("packedMove")),
+                            rs.getTimestamp("played_at").getTime()));
+                }
+                return moves;
             }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to get moves", e);
+        }
+    }
 
-            stmt.setInt(4, game.gameID());
+    @Override
+    public void createUsers(List<UserData> users) throws DataAccessException {
+        for (UserData user : users) {
+            if (user.password() == null) {
+                throw new DataAccessException("Error: password cannot be null");
+            }
+        }
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_USER)) {
+                for (int i = 0; i < users.size(); i++) {
+                    bindUser(stmt, users.get(i));
+                    stmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            LOG.debug("create_users", "count", users.size());
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to create users", e);
+        }
+    }
 
+    @Override
+    public int[] createGames(List<GameData> games) throws DataAccessException {
+        int[] ids = new int[games.size()];
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_GAME, Statement.RETURN_GENERATED_KEYS)) {
+                int next = 0;
+                for (int i = 0; i < games.size(); i++) {
+                    bindNewGame(stmt, games.get(i));
+                    stmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == games.size() - 1) {
+                        stmt.executeBatch();
+                        next = readKeys(stmt, ids, next);
+                    }
+                }
+                if (next != ids.length) {
+                    throw new SQLException("Expected " + ids.length + " generated game ids, got " + next);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            LOG.debug("create_games", "count", ids.length);
+            return ids;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to create games", e);
+        }
+    }
 
-            System.out.printf("Updating game ID %d with white=%s, black=%s%n", game.gameID(), game.whiteUsername(), game.blackUsername());
-            int rowsUpdated = stmt.executeUpdate();
-            System.out.println("updateGame: rows updated = " + rowsUpdated);
+    private static int readKeys(Statement stmt, int[] ids, int next) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            while (keys.next() && next < ids.length) {
+                ids[next++] = keys.getInt(1);
+            }
+        }
+        return next;
+    }
 
-            System.out.printf("Saving game ID %d: white=%s, black=%s%n",
-                    game.gameID(), game.whiteUsername(), game.blackUsername());
-            System.out.println("Updated game white player: " + game.whiteUsername());
+    @Override
+    public void updateGames(List<GameData> games) throws DataAccessException {
+        try (Connection conn = connect()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_GAME)) {
+                for (int i = 0; i < games.size(); i++) {
+                    bindGameUpdate(stmt, games.get(i));
+                    stmt.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            LOG.debug("update_games", "count", games.size());
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to update games", e);
+        }
+    }
 
+    private static void bindUser(PreparedStatement stmt, UserData user) throws SQLException {
+        stmt.setString(1, user.username());
+        stmt.setString(2, user.password());
+        stmt.setString(3, user.email());
+    }
 
-        } catch (SQLException e) {
-            throw new DataAccessException("Error: failed to update game", e);
+    /**
+     * Fills in {@link #INSERT_GAME}
+     */
+    private static void bindNewGame(PreparedStatement stmt, GameData game) throws SQLException {
+        stmt.setString(1, game.gameName());
+        stmt.setBytes(2, game.game() != null ? game.game().encode() : null);
+        setNullableString(stmt, 3, game.whiteUsername());
+        setNullableString(stmt, 4, game.blackUsername());
+        stmt.setString(5, GameStatus.of(game).name());
+        stmt.setInt(6, game.game() != null ? game.game().getMoveCount() : 0);
+        stmt.setString(7, (game.game() != null ? game.game().getTeamTurn() : ChessGame.TeamColor.WHITE).name());
+    }
+
+    /**
+     * Fills in {@link #UPDATE_GAME}
+     */
+    private static void bindGameUpdate(PreparedStatement stmt, GameData game) throws SQLException {
+        stmt.setBytes(1, game.game().encode());
+        setNullableString(stmt, 2, game.whiteUsername());
+        setNullableString(stmt, 3, game.blackUsername());
+        stmt.setString(4, GameStatus.of(game).name());
+        stmt.setInt(5, game.game().getMoveCount());
+        stmt.setString(6, game.game().getTeamTurn().name());
+        stmt.setInt(7, game.gameID());
+    }
+
+    private static void setNullableString(PreparedStatement stmt, int index, String value) throws SQLException {
+        if (value != null) {
+            stmt.setString(index, value);
+        } else {
+            stmt.setNull(index, Types.VARCHAR);
         }
     }
 
 
     @Override
     public GameData getGame(int gameID) throws DataAccessException {
-        System.out.println("Attempting to fetch game with ID: " + gameID);
-
-        String sql = "SELECT id, name, gameState, white, black FROM games WHERE id = ?";
-        try (Connection conn = DatabaseManager.getConnection();
+        String sql = "SELECT id, name, gameState, white, black, version, moveCount FROM games WHERE id = ?";
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, gameID);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    System.out.println("Game found: ID = " + rs.getInt("id"));
-                    System.out.println("Fetched game white player: " + rs.getString("white"));
-                    System.out.printf("getGame: id=%d, white=%s, black=%s, name=%s%n",
-                            rs.getInt("id"), rs.getString("white"), rs.getString("black"), rs.getString("name"));
-
                     return new GameData(
                             rs.getInt("id"),
                             rs.getString("white"),
                             rs.getString("black"),
                             rs.getString("name"),
-                            ChessGame.deserialize(rs.getString("gameState"))
+                            readGame(conn, rs),
+                            rs.getInt("version")
                     );
-                } else {
-                    System.out.println("No game found with ID: " + gameID);
                 }
+                LOG.debug("get_game_missing", "gameID", gameID);
                 return null;
             }
         } catch (SQLException e) {
@@ -274,26 +547,73 @@ public class SqlDataAccess implements DataAccess {
 
     @Override
     public GameData[] listGames() throws DataAccessException {
-        String sql = "SELECT id, name, gameState, white, black FROM games";
-        try (Connection conn = DatabaseManager.getConnection();
+        String sql = "SELECT id, name, gameState, white, black, version, moveCount FROM games";
+        try (Connection conn = connect();
              PreparedStatement stmt = conn.prepareStatement(sql);
              ResultSet rs = stmt.executeQuery()) {
 
             List<GameData> games = new ArrayList<>();
             while (rs.next()) {
-                ChessGame game = rs.getString("gameState") != null
-                        ? ChessGame.deserialize(rs.getString("gameState"))
-                        : null;
                 games.add(new GameData(
                         rs.getInt("id"),
                         rs.getString("white"),
                         rs.getString("black"),
                         rs.getString("name"),
-                        game));
+                        readGame(conn, rs),
+                        rs.getInt("version")));
             }
             return games.toArray(new GameData[0]);
         } catch (SQLException e) {
             throw new DataAccessException("Error: failed to list games", e);
         }
     }
+
+    /**
+     * Reads only the listing columns, kept up to date on every write, so game state is never decoded
+     */
+    @Override
+    public GameSummary[] listGameSummaries(GameQuery query) throws DataAccessException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, name, white, black, status, moveCount FROM games WHERE id > ?");
+        List<String> params = new ArrayList<>();
+        if (query.openSeatsOnly()) {
+            sql.append(" AND status = 'OPEN'");
+        }
+        if (query.player() != null) {
+            sql.append(" AND (white = ? OR black = ?)");
+            params.add(query.player());
+            params.add(query.player());
+        }
+        if (query.namePrefix() != null) {
+            sql.append(" AND name LIKE ? ESCAPE '!'");
+            params.add(query.namePrefix().replaceAll("[!%_]", "!$0") + "%");
+        }
+        sql.append(" ORDER BY id");
+        if (query.limit() > 0) {
+            sql.append(" LIMIT ").append(query.limit());
+        }
+
+        try (Connection conn = connect();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            stmt.setInt(1, query.afterGameID());
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setString(i + 2, params.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<GameSummary> games = new ArrayList<>();
+                while (rs.next()) {
+                    games.add(new GameSummary(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            rs.getString("white"),
+                            rs.getString("black"),
+                            GameStatus.valueOf(rs.getString("status")),
+                            rs.getInt("moveCount")));
+                }
+                return games.toArray(new GameSummary[0]);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error: failed to list games", e);
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package dataaccess;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Where the server keeps its data, chosen with the {@code chess.storage} system property:
+ * {@code mysql} (the default) for the database in db.properties, {@code embedded} for an
+ * H2 file at {@code chess.storage.path}, or {@code memory} for nothing persisted at all.
+ */
+public enum StorageBackend {
+    MYSQL,
+    EMBEDDED,
+    MEMORY;
+
+    public static final String PROPERTY = "chess.storage";
+    public static final String PATH_PROPERTY = "chess.storage.path";
+    public static final String DEFAULT_PATH = "data/chess";
+
+    public static StorageBackend configured() {
+        String name = System.getProperty(PROPERTY, MYSQL.name());
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + PROPERTY + " '" + name
+                    + "', expected mysql, embedded or memory", e);
+        }
+    }
+
+    /**
+     * Opens this backend; the database backends get the auth token cache in front of them
+     */
+    public DataAccess open() throws DataAccessException {
+        return switch (this) {
+            case MYSQL -> new CachingDataAccess(new SqlDataAccess());
+            case EMBEDDED -> new CachingDataAccess(
+                    new EmbeddedDataAccess(Path.of(System.getProperty(PATH_PROPERTY, DEFAULT_PATH))));
+            case MEMORY -> new MemoryDataAccess();
+        };
+    }
+}
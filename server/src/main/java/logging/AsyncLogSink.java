@@ -0,0 +1,175 @@
+package logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A bounded ring buffer of log events drained by a single background thread.
+ * <p>
+ * Publishing claims a slot with one compare-and-set and never blocks: when the
+ * buffer is full the event is dropped and counted, and the drain thread reports
+ * how many were lost once it catches up. The capacity comes from the
+ * {@code log.bufferSize} system property, rounded up to a power of two.
+ */
+final class AsyncLogSink {
+    static final int DEFAULT_CAPACITY = 8192;
+    //how long the drain thread sleeps when there is nothing to write and nobody wakes it
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    //written to directly when the writer itself throws
+    private static final Logger FALLBACK = LoggerFactory.getLogger(AsyncLogSink.class);
+
+    private static final AsyncLogSink SHARED = createShared();
+
+    private final AtomicReferenceArray<LogEvent> slots;
+    private final int mask;
+    private final Consumer<LogEvent> writer;
+    private final Thread drainer;
+
+    //next sequence to claim; only ever increases
+    private final AtomicLong tail = new AtomicLong();
+    //next sequence to write; only the drain thread moves it
+    private volatile long head;
+    private volatile boolean idle;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long droppedReported;
+    //only the drain thread writes this
+    private volatile long writeFailures;
+
+    AsyncLogSink(int capacity, Consumer<LogEvent> writer) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.writer = writer;
+        this.drainer = new Thread(this::drainForever, "async-log-writer");
+        drainer.setDaemon(true);
+    }
+
+    private static AsyncLogSink createShared() {
+        AsyncLogSink sink = new AsyncLogSink(Integer.getInteger("log.bufferSize", DEFAULT_CAPACITY), LogEvent::write);
+        sink.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> sink.flush(1000), "async-log-flush"));
+        return sink;
+    }
+
+    static AsyncLogSink shared() {
+        return SHARED;
+    }
+
+    void start() {
+        drainer.start();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+
+    long writeFailures() {
+        return writeFailures;
+    }
+
+    /**
+     * @return False if the buffer was full and the event was dropped
+     */
+    boolean publish(LogEvent event) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head > mask) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.set((int) claimed & mask, event);
+        if (idle) {
+            LockSupport.unpark(drainer);
+        }
+        return true;
+    }
+
+    /**
+     * Waits until everything published so far has been written, along with the
+     * report of any events dropped before then
+     *
+     * @return False if that took longer than the timeout
+     */
+    boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long lost = dropped.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (head < target || droppedReported < lost) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        return true;
+    }
+
+    private void drainForever() {
+        while (true) {
+            if (!drainAvailable()) {
+                idle = true;
+                //a publisher that saw idle == false has already advanced tail
+                if (tail.get() == head) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    private boolean drainAvailable() {
+        long next = head;
+        boolean wrote = false;
+        while (next < tail.get()) {
+            int slot = (int) next & mask;
+            LogEvent event = slots.get(slot);
+            if (event == null) {
+                //claimed, but the publisher has not stored it yet
+                Thread.onSpinWait();
+                continue;
+            }
+            slots.set(slot, null);
+            write(event);
+            //only now, so flush cannot return before the event is out
+            head = ++next;
+            wrote = true;
+        }
+        reportDrops();
+        return wrote;
+    }
+
+    private void write(LogEvent event) {
+        try {
+            writer.accept(event);
+        } catch (RuntimeException e) {
+            //a broken appender must not stop the drain thread
+            writeFailures++;
+            FALLBACK.warn("log_write_failed event={} failures={}", event.event(), writeFailures, e);
+        }
+    }
+
+    private void reportDrops() {
+        long lost = dropped.get();
+        if (lost != droppedReported) {
+            write(new LogEvent(FALLBACK, Level.WARN, "log_events_dropped",
+                    new Object[]{"count", lost - droppedReported, "capacity", capacity()}, null,
+                    System.currentTimeMillis(), Thread.currentThread().getName()));
+            droppedReported = lost;
+        }
+    }
+}
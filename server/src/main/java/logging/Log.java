@@ -0,0 +1,105 @@
+package logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+/**
+ * Structured logging for the server. Each call names an event and adds key/value
+ * pairs, for example {@code LOG.debug("join_game", "gameID", id, "white", white)}.
+ * <p>
+ * The level is checked on the calling thread against the slf4j configuration, so
+ * disabled tracing never formats anything. Enabled events go into
+ * {@link AsyncLogSink}'s ring buffer and are formatted and written by its background
+ * thread, so request threads never wait on the console.
+ * <p>
+ * {@code debug} and {@code info} have fixed-arity overloads for up to two pairs, so
+ * a disabled call allocates nothing. Calls with more pairs build their varargs array
+ * before the level check and should be guarded with {@link #isDebugEnabled()}.
+ */
+public final class Log {
+    private static final Object[] NO_FIELDS = {};
+
+    private final Logger logger;
+
+    private Log(Logger logger) {
+        this.logger = logger;
+    }
+
+    public static Log get(Class<?> type) {
+        return new Log(LoggerFactory.getLogger(type));
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public void debug(String event) {
+        if (logger.isDebugEnabled()) {
+            publish(Level.DEBUG, event, null, NO_FIELDS);
+        }
+    }
+
+    public void debug(String event, String key, Object value) {
+        if (logger.isDebugEnabled()) {
+            publish(Level.DEBUG, event, null, new Object[]{key, value});
+        }
+    }
+
+    public void debug(String event, String key1, Object value1, String key2, Object value2) {
+        if (logger.isDebugEnabled()) {
+            publish(Level.DEBUG, event, null, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    public void debug(String event, Object... fields) {
+        if (logger.isDebugEnabled()) {
+            publish(Level.DEBUG, event, null, fields);
+        }
+    }
+
+    public void info(String event) {
+        if (logger.isInfoEnabled()) {
+            publish(Level.INFO, event, null, NO_FIELDS);
+        }
+    }
+
+    public void info(String event, String key, Object value) {
+        if (logger.isInfoEnabled()) {
+            publish(Level.INFO, event, null, new Object[]{key, value});
+        }
+    }
+
+    public void info(String event, String key1, Object value1, String key2, Object value2) {
+        if (logger.isInfoEnabled()) {
+            publish(Level.INFO, event, null, new Object[]{key1, value1, key2, value2});
+        }
+    }
+
+    public void info(String event, Object... fields) {
+        if (logger.isInfoEnabled()) {
+            publish(Level.INFO, event, null, fields);
+        }
+    }
+
+    public void warn(String event, Object... fields) {
+        warn(event, null, fields);
+    }
+
+    public void warn(String event, Throwable cause, Object... fields) {
+        if (logger.isWarnEnabled()) {
+            publish(Level.WARN, event, cause, fields);
+        }
+    }
+
+    public void error(String event, Throwable cause, Object... fields) {
+        if (logger.isErrorEnabled()) {
+            publish(Level.ERROR, event, cause, fields);
+        }
+    }
+
+    private void publish(Level level, String event, Throwable cause, Object[] fields) {
+        AsyncLogSink.shared().publish(new LogEvent(logger, level, event, fields, cause,
+                System.currentTimeMillis(), Thread.currentThread().getName()));
+    }
+}
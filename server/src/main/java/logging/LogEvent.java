@@ -0,0 +1,54 @@
+package logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.time.Instant;
+
+/**
+ * One log call, captured on the calling thread and written later by {@link AsyncLogSink}
+ *
+ * @param fields alternating keys and values
+ */
+record LogEvent(Logger logger, Level level, String event, Object[] fields, Throwable cause,
+                long timestamp, String thread) {
+
+    /**
+     * @return the event as logfmt: {@code ts=... thread=... event=... key=value ...}
+     */
+    String format() {
+        StringBuilder line = new StringBuilder(64 + fields.length * 16);
+        line.append("ts=").append(Instant.ofEpochMilli(timestamp));
+        appendField(line, "thread", thread);
+        appendField(line, "event", event);
+        for (int i = 0; i + 1 < fields.length; i += 2) {
+            appendField(line, String.valueOf(fields[i]), fields[i + 1]);
+        }
+        if (fields.length % 2 != 0) {
+            appendField(line, "extra", fields[fields.length - 1]);
+        }
+        return line.toString();
+    }
+
+    private static void appendField(StringBuilder line, String key, Object value) {
+        line.append(' ').append(key).append('=');
+        String text = String.valueOf(value);
+        if (text.isEmpty() || text.chars().anyMatch(c -> c <= ' ' || c == '"' || c == '=')) {
+            line.append('"').append(text.replace("\\", "\\\\").replace("\"", "\\\"")
+                    .replace("\n", "\\n")).append('"');
+        } else {
+            line.append(text);
+        }
+    }
+
+    void write() {
+        String line = format();
+        switch (level) {
+            case ERROR -> logger.error(line, cause);
+            case WARN -> logger.warn(line, cause);
+            case INFO -> logger.info(line, cause);
+            case DEBUG -> logger.debug(line, cause);
+            case TRACE -> logger.trace(line, cause);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package server;
 
+import logging.Log;
+
 public class ErrorMessage {
+    private static final Log LOG = Log.get(ErrorMessage.class);
+
     private final String message;
 
     public ErrorMessage(String message) {
-        System.out.println("[DEBUG] Creating ErrorMessage: " + message); // ✅ log the message
+        LOG.debug("error_response", "message", message);
         this.message = message;
     }
 
@@ -2,8 +2,7 @@ package server;
 
 import dataaccess.DataAccess;
 import dataaccess.DataAccessException;
-import dataaccess.MemoryDataAccess;
-import dataaccess.SqlDataAccess;
+import dataaccess.StorageBackend;
 import server.handlers.*;
 import service.AuthService;
 import service.ClearService;
@@ -19,12 +18,16 @@ public class Server {
     private final AuthService authService;
     private int port;
 
+    /**
+     * Uses the storage backend named by the chess.storage property
+     */
     public Server() {
+        StorageBackend backend = StorageBackend.configured();
         DataAccess dataAccess;
         try {
-            dataAccess = new SqlDataAccess();
+            dataAccess = backend.open();
         } catch (DataAccessException e) {
-            throw new RuntimeException("Failed to initialize SQL backend", e);
+            throw new RuntimeException("Failed to initialize " + backend + " backend", e);
         }
 
         this.userService = new UserService(dataAccess);
@@ -49,12 +52,15 @@ public class Server {
 
         // Register your endpoints and handle exceptions here.
         post("/user", new RegisterHandler(userService));
+        post("/user/bulk", new RegisterUsersHandler(userService));
         delete("/db", new ClearHandler(clearService));
         post("/session", new LoginHandler(userService));
         delete("/session", new LogoutHandler(userService));
         post("/game", new CreateGameHandler(gameService));
+        post("/game/bulk", new CreateGamesHandler(gameService));
         get("/game", new ListGamesHandler(gameService));
         put("/game", new JoinGameHandler(gameService));
+        put("/game/move", new MakeMoveHandler(gameService));
 
         Spark.awaitInitialization();
         return Spark.port();
@@ -0,0 +1,57 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dataaccess.DataAccessException;
+import model.request.CreateGamesRequest;
+import model.result.CreateGamesResult;
+
+import server.ErrorMessage;
+import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
+import exceptions.UnauthorizedException;
+import service.interfaces.GameService;
+import spark.*;
+
+/**
+ * {@code POST /game/bulk} with a body like {@code {"games": [{"gameName": "Round 1, board 1",
+ * "whiteUsername": "a", "blackUsername": "b"}]}}
+ */
+public class CreateGamesHandler implements Route {
+    private static final Gson GSON = new Gson();
+
+    private final GameService gameService;
+
+    public CreateGamesHandler(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Override
+    public Object handle(Request request, Response response) {
+        try {
+            String token = request.headers("authorization");
+            CreateGamesRequest body = GSON.fromJson(request.body(), CreateGamesRequest.class);
+            if (body == null) {
+                throw new BadRequestException("Error: Invalid request.");
+            }
+            CreateGamesResult result = gameService.createGames(new CreateGamesRequest(token, body.games()));
+            response.status(200);
+            return GSON.toJson(result);
+        } catch (UnauthorizedException e) {
+            response.status(401);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (ForbiddenException e) {
+            response.status(403);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (BadRequestException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (JsonParseException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage("Error: Invalid request."));
+        } catch (DataAccessException e) {
+            response.status(500);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        }
+    }
+}
@@ -5,11 +5,18 @@ import dataaccess.DataAccessException;
 import model.request.ListGamesRequest;
 import model.result.ListGamesResult;
 import server.ErrorMessage;
+import exceptions.BadRequestException;
 import exceptions.UnauthorizedException;
 import service.GameService;
 import spark.*;
 
+/**
+ * {@code GET /game}, optionally with {@code cursor}, {@code limit}, {@code open=true},
+ * {@code player} and {@code name} (a name prefix) query parameters
+ */
 public class ListGamesHandler implements Route {
+    private static final Gson GSON = new Gson();
+
     private final GameService gameService;
 
     public ListGamesHandler(GameService gameService) {
@@ -20,16 +27,36 @@ public class ListGamesHandler implements Route {
     public Object handle(Request request, Response response) {
         try {
             String token = request.headers("authorization");
-            ListGamesRequest listGamesRequest = new ListGamesRequest(token);
+            ListGamesRequest listGamesRequest = new ListGamesRequest(token,
+                    intParam(request, "cursor"),
+                    intParam(request, "limit"),
+                    Boolean.parseBoolean(request.queryParams("open")),
+                    request.queryParams("player"),
+                    request.queryParams("name"));
             ListGamesResult result = gameService.listGames(listGamesRequest);
             response.status(200);
-            return new Gson().toJson(result);
+            return GSON.toJson(result);
         } catch (UnauthorizedException e) {
             response.status(401);
-            return new Gson().toJson(new ErrorMessage(e.getMessage()));
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (BadRequestException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
         } catch (DataAccessException e) {
             response.status(500);
-            return new Gson().toJson(new ErrorMessage(e.getMessage()));
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        }
+    }
+
+    private static Integer intParam(Request request, String name) throws BadRequestException {
+        String value = request.queryParams(name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Error: Invalid " + name + ".");
         }
     }
 }
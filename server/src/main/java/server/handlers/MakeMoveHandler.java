@@ -0,0 +1,52 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dataaccess.DataAccessException;
+import exceptions.BadRequestException;
+import exceptions.UnauthorizedException;
+import model.request.MakeMoveRequest;
+import model.result.MakeMoveResult;
+import server.ErrorMessage;
+import service.interfaces.GameService;
+import spark.*;
+
+/**
+ * {@code PUT /game/move} with a body like {@code {"gameID": 1, "move": {"start": {"r": 2, "c": 5},
+ * "end": {"r": 4, "c": 5}}}}; each move is appended to the game's move log
+ */
+public class MakeMoveHandler implements Route {
+    private static final Gson GSON = new Gson();
+
+    private final GameService gameService;
+
+    public MakeMoveHandler(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    @Override
+    public Object handle(Request request, Response response) {
+        try {
+            String token = request.headers("authorization");
+            MakeMoveRequest body = GSON.fromJson(request.body(), MakeMoveRequest.class);
+            if (body == null) {
+                throw new BadRequestException("Error: Invalid request.");
+            }
+            MakeMoveResult result = gameService.makeMove(new MakeMoveRequest(token, body.gameID(), body.move()));
+            response.status(200);
+            return GSON.toJson(result);
+        } catch (UnauthorizedException e) {
+            response.status(401);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (BadRequestException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (JsonParseException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage("Error: Invalid request."));
+        } catch (DataAccessException e) {
+            response.status(500);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package server.handlers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import dataaccess.DataAccessException;
+import model.request.RegisterUsersRequest;
+import model.result.RegisterUsersResult;
+import server.ErrorMessage;
+import exceptions.AlreadyTakenException;
+import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
+import exceptions.UnauthorizedException;
+import service.UserService;
+import spark.*;
+
+/**
+ * {@code POST /user/bulk} with a body like {@code {"users": [{"username": "a", "password": "p",
+ * "email": "a@mail.com"}]}}
+ */
+public class RegisterUsersHandler implements Route {
+    private static final Gson GSON = new Gson();
+
+    private final UserService userService;
+
+    public RegisterUsersHandler(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public Object handle(Request request, Response response) {
+        try {
+            String token = request.headers("authorization");
+            RegisterUsersRequest body = GSON.fromJson(request.body(), RegisterUsersRequest.class);
+            if (body == null) {
+                throw new BadRequestException("Error: Invalid request.");
+            }
+            RegisterUsersResult result = userService.registerUsers(new RegisterUsersRequest(token, body.users()));
+            response.status(200);
+            return GSON.toJson(result);
+        } catch (UnauthorizedException e) {
+            response.status(401);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (ForbiddenException e) {
+            response.status(403);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (AlreadyTakenException e) {
+            response.status(403);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (BadRequestException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        } catch (JsonParseException e) {
+            response.status(400);
+            return GSON.toJson(new ErrorMessage("Error: Invalid request."));
+        } catch (DataAccessException e) {
+            response.status(500);
+            return GSON.toJson(new ErrorMessage(e.getMessage()));
+        }
+    }
+}
@@ -3,16 +3,30 @@ package service;
 import chess.*;
 import dataaccess.*;
 import exceptions.*;
+import logging.Log;
 import model.AuthData;
 import model.GameData;
+import model.GameStatus;
+import model.GameSummary;
 import model.request.*;
 import model.result.*;
 
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class GameService implements service.interfaces.GameService {
+    private static final Log LOG = Log.get(GameService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_GAMES = 1_000;
+    //how many times a write that lost a race with another request is re-read and retried
+    static final int MAX_UPDATE_ATTEMPTS = 5;
+
     private final DataAccess data;
 
     public GameService(DataAccess data) {
@@ -49,9 +63,56 @@ public class GameService implements service.interfaces.GameService {
 
 
 
+    /**
+     * Creates every requested game in one batch, or none of them if any is invalid
+     */
+    @Override
+    public CreateGamesResult createGames(CreateGamesRequest request)
+            throws DataAccessException, BadRequestException, UnauthorizedException, ForbiddenException {
+        String authToken = request.authToken();
+        AuthData auth = authToken == null || authToken.isBlank() ? null : data.getAuth(authToken);
+        if (auth == null) {
+            throw new UnauthorizedException("Error: Unauthorized access.");
+        }
+        if (!Admins.isAdmin(auth.username())) {
+            throw new ForbiddenException("Error: Only admins can create games in bulk.");
+        }
+
+        List<CreateGamesRequest.NewGame> games = request.games();
+        if (games == null || games.isEmpty() || games.size() > MAX_BULK_GAMES) {
+            throw new BadRequestException("Error: Invalid request.");
+        }
+        List<GameData> newGames = new ArrayList<>(games.size());
+        Set<String> players = new HashSet<>();
+        for (CreateGamesRequest.NewGame game : games) {
+            if (game == null || game.gameName() == null || game.gameName().isBlank()) {
+                throw new BadRequestException("Error: Invalid game name.");
+            }
+            addPlayer(game.whiteUsername(), players);
+            addPlayer(game.blackUsername(), players);
+            newGames.add(new GameData(0, game.whiteUsername(), game.blackUsername(), game.gameName(), new ChessGame()));
+        }
+
+        //one lookup for the whole batch rather than a query per player
+        players.removeAll(data.getExistingUsernames(players));
+        if (!players.isEmpty()) {
+            throw new BadRequestException("Error: Unknown player " + players.iterator().next() + ".");
+        }
+
+        int[] ids = data.createGames(newGames);
+        LOG.info("create_games", "count", ids.length);
+        return new CreateGamesResult(Arrays.stream(ids).boxed().toList());
+    }
+
+    private static void addPlayer(String username, Set<String> players) {
+        if (username != null) {
+            players.add(username);
+        }
+    }
+
     @Override
     public ListGamesResult listGames(ListGamesRequest listGamesRequest)
-            throws DataAccessException, UnauthorizedException {
+            throws DataAccessException, UnauthorizedException, BadRequestException {
         String authToken = listGamesRequest.authToken();
         if (authToken == null || authToken.isBlank()) {
             throw new UnauthorizedException("Error: Unauthorized access.");
@@ -62,8 +123,22 @@ public class GameService implements service.interfaces.GameService {
             throw new UnauthorizedException("Error: Unauthorized access.");
         }
 
-        Collection<GameData> gameList = List.of(data.listGames());
-        return new ListGamesResult(gameList);
+        Integer cursor = listGamesRequest.cursor();
+        Integer limit = listGamesRequest.limit();
+        if ((cursor != null && cursor < 0) || (limit != null && limit < 1)) {
+            throw new BadRequestException("Error: Invalid request.");
+        }
+        int pageSize = limit == null ? 0 : Math.min(limit, MAX_PAGE_SIZE);
+
+        //one extra row tells whether there is another page
+        GameQuery query = new GameQuery(cursor == null ? 0 : cursor, pageSize == 0 ? 0 : pageSize + 1,
+                listGamesRequest.openSeats(), listGamesRequest.player(), listGamesRequest.namePrefix());
+        GameSummary[] games = data.listGameSummaries(query);
+        if (pageSize > 0 && games.length > pageSize) {
+            Collection<GameSummary> page = List.of(games).subList(0, pageSize);
+            return new ListGamesResult(page, games[pageSize - 1].gameID());
+        }
+        return new ListGamesResult(List.of(games));
     }
 
     @Override
@@ -84,44 +159,103 @@ public class GameService implements service.interfaces.GameService {
             throw new BadRequestException("Error: Invalid request.");
         }
 
-        // DEBUG: Print all games before fetching a specific one
-        System.out.println("=== Current Games in DB BEFORE getGame ===");
-        for (GameData g : data.listGames()) {
-            System.out.printf("GameID: %d, Name: %s, White: %s, Black: %s%n",
-                    g.gameID(), g.gameName(), g.whiteUsername(), g.blackUsername());
+        String username = auth.username();
+        ChessGame.TeamColor color = request.playerColor();
+
+        //the seat check and the write only count if nobody changed the game in between
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            GameData game = data.getGame(request.gameID());
+
+            if (game == null) {
+                throw new BadRequestException("Error: Invalid request.");
+            }
+
+            if (color == ChessGame.TeamColor.WHITE) {
+                if (game.whiteUsername() != null && !game.whiteUsername().equals(username)) {
+                    throw new AlreadyTakenException("Error: Another player has already taken that spot.");
+                }
+            } else if (color == ChessGame.TeamColor.BLACK) {
+                if (game.blackUsername() != null && !game.blackUsername().equals(username)) {
+                    throw new AlreadyTakenException("Error: Another player has already taken that spot.");
+                }
+            } else {
+                throw new BadRequestException("Error: Invalid player color.");
+            }
+
+            String white = (color == ChessGame.TeamColor.WHITE) ? username : game.whiteUsername();
+            String black = (color == ChessGame.TeamColor.BLACK) ? username : game.blackUsername();
+            GameData updatedGame = new GameData(game.gameID(), white, black, game.gameName(), game.game(),
+                    game.version());
+
+            if (data.compareAndSetGame(updatedGame)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("join_game", "gameID", game.gameID(), "color", color, "username", username,
+                            "attempt", attempt + 1);
+                }
+                return new JoinGameResult();
+            }
+        }
+        LOG.warn("join_game_contended", "gameID", request.gameID(), "attempts", MAX_UPDATE_ATTEMPTS);
+        throw new DataAccessException("Error: game is busy, please try again.");
+    }
+
+    /**
+     * Plays the move for the player whose turn it is, saving it to the game's move history
+     */
+    @Override
+    public MakeMoveResult makeMove(MakeMoveRequest request)
+            throws DataAccessException, UnauthorizedException, BadRequestException {
+        if (request == null || request.authToken() == null) {
+            throw new UnauthorizedException("Error: Unauthorized access.");
         }
 
-        GameData game = data.getGame(request.gameID());
+        AuthData auth = data.getAuth(request.authToken());
+        if (auth == null) {
+            throw new UnauthorizedException("Error: Unauthorized access.");
+        }
 
-        if (game == null) {
+        if (request.move() == null) {
             throw new BadRequestException("Error: Invalid request.");
         }
 
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            GameData game = data.getGame(request.gameID());
+            if (game == null || game.game() == null) {
+                throw new BadRequestException("Error: Invalid request.");
+            }
 
-        String username = auth.username();
-        ChessGame.TeamColor color = request.playerColor();
+            GameStatus status = GameStatus.of(game);
+            if (status == GameStatus.OPEN) {
+                throw new BadRequestException("Error: waiting for an opponent.");
+            }
+            if (status.isOver()) {
+                throw new BadRequestException("Error: the game is over.");
+            }
+            boolean whiteToMove = game.game().getTeamTurn() == ChessGame.TeamColor.WHITE;
+            if (!auth.username().equals(whiteToMove ? game.whiteUsername() : game.blackUsername())) {
+                throw new BadRequestException("Error: it is not your turn.");
+            }
 
-        if (color == ChessGame.TeamColor.WHITE) {
-            if (game.whiteUsername() != null && !game.whiteUsername().equals(username)) {
-                throw new AlreadyTakenException("Error: Another player has already taken that spot.");
+            //the stored game may be shared, as in memory, so the move is made on a copy
+            ChessGame next = ChessGame.decode(game.game().encode());
+            try {
+                next.makeMove(request.move());
+            } catch (InvalidMoveException e) {
+                throw new BadRequestException("Error: illegal move.");
             }
-        } else if (color == ChessGame.TeamColor.BLACK) {
-            if (game.blackUsername() != null && !game.blackUsername().equals(username)) {
-                throw new AlreadyTakenException("Error: Another player has already taken that spot.");
+            GameData moved = new GameData(game.gameID(), game.whiteUsername(), game.blackUsername(),
+                    game.gameName(), next, game.version());
+
+            if (data.appendMove(moved, request.move())) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("make_move", "gameID", game.gameID(), "username", auth.username(),
+                            "ply", next.getMoveCount(), "attempt", attempt + 1);
+                }
+                return new MakeMoveResult(GameStatus.of(moved), next.getMoveCount());
             }
-        } else {
-            throw new BadRequestException("Error: Invalid player color.");
         }
-
-        String white = (color == ChessGame.TeamColor.WHITE) ? username : game.whiteUsername();
-        String black = (color == ChessGame.TeamColor.BLACK) ? username : game.blackUsername();
-        GameData updatedGame = new GameData(game.gameID(), white, black, game.gameName(), game.game());
-        System.out.printf("joinGame: gameID=%d, white=%s, black=%s%n",
-                updatedGame.gameID(), updatedGame.whiteUsername(), updatedGame.blackUsername());
-
-        data.updateGame(updatedGame);
-
-        return new JoinGameResult();
+        LOG.warn("make_move_contended", "gameID", request.gameID(), "attempts", MAX_UPDATE_ATTEMPTS);
+        throw new DataAccessException("Error: game is busy, please try again.");
     }
 
 
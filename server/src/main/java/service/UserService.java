@@ -4,18 +4,40 @@ import dataaccess.DataAccess;
 import dataaccess.DataAccessException;
 import exceptions.AlreadyTakenException;
 import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
 import exceptions.UnauthorizedException;
+import logging.Log;
 import model.request.LoginRequest;
 import model.request.RegisterRequest;
+import model.request.RegisterUsersRequest;
 import model.result.LoginResult;
 import model.result.LogoutResult;
 import model.result.RegisterResult;
+import model.result.RegisterUsersResult;
 import org.mindrot.jbcrypt.BCrypt;
 import model.*;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class UserService implements service.interfaces.UserService {
+    private static final Log LOG = Log.get(UserService.class);
+
+    public static final int MAX_BULK_USERS = 100;
+
+    //bcrypt for bulk imports runs here, off the common pool and on at most half the cores
+    private static final ExecutorService HASHING = hashingExecutor();
+
     private final DataAccess data;
 
     public UserService(DataAccess data) {
@@ -42,6 +64,84 @@ public class UserService implements service.interfaces.UserService {
         return new RegisterResult(request.username(), token);
     }
 
+    /**
+     * Creates accounts for every requested user in one batch, or none of them if any is
+     * invalid or taken. Only admins, see {@link Admins}, may import users. No auth tokens
+     * are issued; imported users log in normally.
+     */
+    @Override
+    public RegisterUsersResult registerUsers(RegisterUsersRequest request) throws DataAccessException,
+            BadRequestException, UnauthorizedException, ForbiddenException, AlreadyTakenException {
+        String authToken = request.authToken();
+        AuthData auth = authToken == null || authToken.isBlank() ? null : data.getAuth(authToken);
+        if (auth == null) {
+            throw new UnauthorizedException("Error: Unauthorized access.");
+        }
+        if (!Admins.isAdmin(auth.username())) {
+            throw new ForbiddenException("Error: Only admins can import users.");
+        }
+
+        List<RegisterRequest> users = request.users();
+        if (users == null || users.isEmpty() || users.size() > MAX_BULK_USERS) {
+            throw new BadRequestException("Error: Invalid request.");
+        }
+        Set<String> usernames = new HashSet<>();
+        for (RegisterRequest user : users) {
+            if (user == null || user.username() == null || user.password() == null || user.email() == null) {
+                throw new BadRequestException("Error: Invalid username or password.");
+            }
+            if (!usernames.add(user.username())) {
+                throw new AlreadyTakenException("Error: Username " + user.username() + " already taken.");
+            }
+        }
+        Set<String> taken = data.getExistingUsernames(usernames);
+        if (!taken.isEmpty()) {
+            throw new AlreadyTakenException("Error: Username " + taken.iterator().next() + " already taken.");
+        }
+
+        List<UserData> hashed = hashAll(users);
+        data.createUsers(hashed);
+        LOG.info("register_users", "count", hashed.size());
+        return new RegisterUsersResult(users.stream().map(RegisterRequest::username).toList());
+    }
+
+    /**
+     * bcrypt is deliberately slow, so the passwords are hashed in parallel on {@link #HASHING}
+     */
+    private static List<UserData> hashAll(List<RegisterRequest> users) throws DataAccessException {
+        List<Future<UserData>> pending = new ArrayList<>(users.size());
+        for (RegisterRequest user : users) {
+            pending.add(HASHING.submit(() -> new UserData(user.username(),
+                    BCrypt.hashpw(user.password(), BCrypt.gensalt()), user.email())));
+        }
+        List<UserData> hashed = new ArrayList<>(users.size());
+        try {
+            for (Future<UserData> user : pending) {
+                hashed.add(user.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Error: interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new DataAccessException("Error: failed to hash passwords", e.getCause());
+        } finally {
+            pending.forEach(user -> user.cancel(true));
+        }
+        return hashed;
+    }
+
+    private static ExecutorService hashingExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        //once the queue is full the request thread hashes its own passwords, which slows the caller down
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_BULK_USERS), runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
     @Override
     public LoginResult login(LoginRequest request) throws DataAccessException, UnauthorizedException, BadRequestException {
         if (request.username() == null || request.password() == null) {
@@ -55,7 +155,7 @@ public class UserService implements service.interfaces.UserService {
 
         String token = UUID.randomUUID().toString();
         data.createAuth(new AuthData(token, user.username()));
-        System.out.println("DEBUG: login returning token = " + token);
+        LOG.debug("login", "username", user.username());
         return new LoginResult(user.username(), token);
     }
 
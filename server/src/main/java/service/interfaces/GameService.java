@@ -2,13 +2,18 @@ package service.interfaces;
 
 import dataaccess.DataAccessException;
 import model.request.CreateGameRequest;
+import model.request.CreateGamesRequest;
 import model.request.ListGamesRequest;
 import model.result.CreateGameResult;
+import model.result.CreateGamesResult;
 import model.request.JoinGameRequest;
 import model.result.JoinGameResult;
 import model.result.ListGamesResult;
+import model.request.MakeMoveRequest;
+import model.result.MakeMoveResult;
 import exceptions.AlreadyTakenException;
 import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
 import exceptions.UnauthorizedException;
 
 public interface GameService {
@@ -18,10 +23,18 @@ public interface GameService {
             throws DataAccessException, BadRequestException, UnauthorizedException;
 
 
+    CreateGamesResult createGames(CreateGamesRequest request)
+            throws DataAccessException, BadRequestException, UnauthorizedException, ForbiddenException;
+
+
     ListGamesResult listGames(ListGamesRequest request)
-            throws DataAccessException, UnauthorizedException;
+            throws DataAccessException, UnauthorizedException, BadRequestException;
 
 
     JoinGameResult joinGame(JoinGameRequest request)
             throws DataAccessException, UnauthorizedException, BadRequestException, AlreadyTakenException;
+
+
+    MakeMoveResult makeMove(MakeMoveRequest request)
+            throws DataAccessException, UnauthorizedException, BadRequestException;
 }
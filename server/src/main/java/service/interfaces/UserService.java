@@ -3,15 +3,20 @@ package service.interfaces;
 import dataaccess.DataAccessException;
 import model.request.LoginRequest;
 import model.request.RegisterRequest;
+import model.request.RegisterUsersRequest;
 import model.result.LoginResult;
 import model.result.LogoutResult;
 import model.result.RegisterResult;
+import model.result.RegisterUsersResult;
 import exceptions.AlreadyTakenException;
 import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
 import exceptions.UnauthorizedException;
 
 public interface UserService {
     RegisterResult register(RegisterRequest req) throws DataAccessException, BadRequestException, AlreadyTakenException;
+    RegisterUsersResult registerUsers(RegisterUsersRequest req) throws DataAccessException, BadRequestException,
+            UnauthorizedException, ForbiddenException, AlreadyTakenException;
     LoginResult login(LoginRequest req) throws DataAccessException, UnauthorizedException, BadRequestException;
     LogoutResult logout(String authToken) throws Exception;
 }
@@ -0,0 +1,111 @@
+package dataaccess;
+
+import model.AuthData;
+import model.UserData;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingDataAccessTests {
+
+    private CountingDataAccess backing;
+    private long now;
+    private CachingDataAccess cache;
+
+    /**
+     * Counts the auth lookups that get past the cache
+     */
+    private static class CountingDataAccess extends MemoryDataAccess {
+        int authLookups;
+
+        @Override
+        public AuthData getAuth(String token) {
+            authLookups++;
+            return super.getAuth(token);
+        }
+    }
+
+    @BeforeEach
+    public void setup() throws Exception {
+        backing = new CountingDataAccess();
+        backing.createUser(new UserData("user", "hash", "user@mail.com"));
+        backing.createAuth(new AuthData("token", "user"));
+        now = 0;
+        cache = new CachingDataAccess(backing, 2, Duration.ofSeconds(60), Duration.ofSeconds(5), () -> now);
+    }
+
+    @Test
+    public void repeatLookupIsHit() throws Exception {
+        assertEquals("user", cache.getAuth("token").username());
+        assertEquals("user", cache.getAuth("token").username());
+        assertEquals(1, backing.authLookups);
+        assertEquals(1, cache.getStats().hits());
+        assertEquals(1, cache.getStats().misses());
+    }
+
+    @Test
+    public void unknownTokenIsCachedBriefly() throws Exception {
+        assertNull(cache.getAuth("bad"));
+        assertNull(cache.getAuth("bad"));
+        assertEquals(1, backing.authLookups);
+        assertEquals(1, cache.getStats().negativeHits());
+
+        now += Duration.ofSeconds(6).toNanos();
+        assertNull(cache.getAuth("bad"));
+        assertEquals(2, backing.authLookups);
+    }
+
+    @Test
+    public void entriesExpire() throws Exception {
+        cache.getAuth("token");
+        now += Duration.ofSeconds(61).toNanos();
+        cache.getAuth("token");
+        assertEquals(2, backing.authLookups);
+    }
+
+    @Test
+    public void deleteAuthInvalidates() throws Exception {
+        cache.getAuth("token");
+        cache.deleteAuth("token");
+        assertNull(cache.getAuth("token"));
+    }
+
+    @Test
+    public void clearInvalidates() throws Exception {
+        cache.getAuth("token");
+        cache.clear();
+        assertNull(cache.getAuth("token"));
+        assertEquals(0, backing.getAuthData().size());
+    }
+
+    @Test
+    public void createAuthReplacesNegativeEntry() throws Exception {
+        assertNull(cache.getAuth("new"));
+        cache.createAuth(new AuthData("new", "user"));
+        assertEquals("user", cache.getAuth("new").username());
+    }
+
+    @Test
+    public void boundedSize() throws Exception {
+        cache.getAuth("token");
+        cache.getAuth("a");
+        cache.getAuth("b");
+        assertEquals(2, cache.getStats().size());
+        assertEquals(1, cache.getStats().evictions());
+
+        //the least recently used token was pushed out
+        cache.getAuth("token");
+        assertEquals(4, backing.authLookups);
+    }
+
+    @Test
+    public void evictExpiredDropsOldEntries() throws Exception {
+        cache.getAuth("token");
+        cache.getAuth("bad");
+        now += Duration.ofSeconds(6).toNanos();
+        cache.evictExpired();
+        assertEquals(1, cache.getStats().size());
+    }
+}
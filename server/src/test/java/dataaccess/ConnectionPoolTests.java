@@ -0,0 +1,123 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionPoolTests {
+
+    private static final String URL = "jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @AfterEach
+    public void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool pool(String... settings) {
+        Properties props = new Properties();
+        props.setProperty("db.pool.maxSize", "2");
+        props.setProperty("db.pool.borrowTimeoutMillis", "100");
+        props.setProperty("db.pool.leakDetectionMillis", "0");
+        for (int i = 0; i < settings.length; i += 2) {
+            props.setProperty(settings[i], settings[i + 1]);
+        }
+        pool = new ConnectionPool(URL, "sa", "", props);
+        return pool;
+    }
+
+    @Test
+    public void reusesConnections() throws Exception {
+        ConnectionPool pool = pool();
+        for (int i = 0; i < 5; i++) {
+            try (Connection conn = pool.borrow();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                assertTrue(rs.next());
+            }
+        }
+        PoolStats stats = pool.stats();
+        assertEquals(1, stats.created());
+        assertEquals(5, stats.borrows());
+        assertEquals(0, stats.active());
+        assertEquals(1, stats.idle());
+    }
+
+    @Test
+    public void boundedBorrowTimesOut() throws Exception {
+        ConnectionPool pool = pool();
+        try (Connection first = pool.borrow(); Connection second = pool.borrow()) {
+            assertEquals(2, pool.stats().active());
+            assertThrows(SQLException.class, pool::borrow);
+            assertEquals(1, pool.stats().timeouts());
+        }
+        try (Connection again = pool.borrow()) {
+            assertFalse(again.isClosed());
+        }
+    }
+
+    @Test
+    public void returnedConnectionCannotBeUsed() throws Exception {
+        Connection conn = pool().borrow();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+        //closing twice must not return the connection twice
+        conn.close();
+        assertEquals(1, pool.stats().idle());
+    }
+
+    @Test
+    public void expiredConnectionsAreReplaced() throws Exception {
+        ConnectionPool pool = pool("db.pool.maxLifetimeMillis", "0");
+        pool.borrow().close();
+        pool.borrow().close();
+        assertEquals(2, pool.stats().created());
+        assertEquals(0, pool.stats().idle());
+    }
+
+    @Test
+    public void uncommittedWorkIsRolledBack() throws Exception {
+        ConnectionPool pool = pool();
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE IF NOT EXISTS pooled (id INT)");
+            stmt.executeUpdate("DELETE FROM pooled");
+            conn.setAutoCommit(false);
+            stmt.executeUpdate("INSERT INTO pooled VALUES (1)");
+        }
+        try (Connection conn = pool.borrow();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM pooled")) {
+            assertTrue(conn.getAutoCommit());
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void reportsLeaks() throws Exception {
+        ConnectionPool pool = pool("db.pool.leakDetectionMillis", "20");
+        try (Connection conn = pool.borrow()) {
+            Thread.sleep(200);
+            assertEquals(1, pool.stats().leaks());
+        }
+    }
+
+    @Test
+    public void reportsLeaksWithStackTraces() throws Exception {
+        ConnectionPool pool = pool("db.pool.leakDetectionMillis", "20", "db.pool.leakStackTraces", "true");
+        try (Connection conn = pool.borrow()) {
+            Thread.sleep(200);
+            assertEquals(1, pool.stats().leaks());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package dataaccess;
+
+import chess.ChessGame;
+import model.GameData;
+import model.UserData;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddedDataAccessTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void dataSurvivesReopen() throws Exception {
+        Path file = dir.resolve("chess");
+        int gameID;
+        try (EmbeddedDataAccess db = new EmbeddedDataAccess(file)) {
+            db.createUser(new UserData("user", "hash", "user@mail.com"));
+            gameID = db.createGame(new GameData(0, "user", null, "game", new ChessGame()));
+        }
+
+        try (EmbeddedDataAccess db = new EmbeddedDataAccess(file)) {
+            assertEquals("hash", db.getUser("user").password());
+            GameData game = db.getGame(gameID);
+            assertEquals("user", game.whiteUsername());
+            assertEquals(new ChessGame(), game.game());
+        }
+    }
+
+    @Test
+    public void separateFilesAreSeparateDatabases() throws Exception {
+        try (EmbeddedDataAccess first = new EmbeddedDataAccess(dir.resolve("first"));
+             EmbeddedDataAccess second = new EmbeddedDataAccess(dir.resolve("second"))) {
+            first.createUser(new UserData("user", "hash", "user@mail.com"));
+            assertNull(second.getUser("user"));
+        }
+    }
+
+    @Test
+    public void backendFromProperty() throws Exception {
+        System.setProperty(StorageBackend.PROPERTY, "Memory");
+        try {
+            assertEquals(StorageBackend.MEMORY, StorageBackend.configured());
+            System.setProperty(StorageBackend.PROPERTY, "postgres");
+            assertThrows(IllegalArgumentException.class, StorageBackend::configured);
+        } finally {
+            System.clearProperty(StorageBackend.PROPERTY);
+        }
+        assertEquals(StorageBackend.MYSQL, StorageBackend.configured());
+    }
+}
@@ -0,0 +1,122 @@
+package dataaccess;
+
+import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
+import model.GameData;
+import model.MoveRecord;
+import model.UserData;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemoryDataAccessTests {
+
+    private MemoryDataAccess data;
+
+    @BeforeEach
+    public void setup() {
+        data = new MemoryDataAccess();
+    }
+
+    private static <T> List<T> runConcurrently(int tasks, Callable<T> task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++) {
+                futures.add(pool.submit(task));
+            }
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void createGameGeneratesIds() throws Exception {
+        int first = data.createGame(new GameData(0, null, null, "first", new ChessGame()));
+        int second = data.createGame(new GameData(0, null, null, "second", new ChessGame()));
+        assertNotEquals(first, second);
+        assertEquals("first", data.getGame(first).gameName());
+        assertEquals(second, data.getGame(second).gameID());
+    }
+
+    @Test
+    public void concurrentCreatesGetUniqueIds() throws Exception {
+        List<Integer> ids = runConcurrently(1000,
+                () -> data.createGame(new GameData(0, null, null, "game", new ChessGame())));
+        Set<Integer> unique = new HashSet<>(ids);
+        assertEquals(1000, unique.size());
+        assertEquals(1000, data.listGames().length);
+    }
+
+    @Test
+    public void concurrentDuplicateUserCreatedOnce() throws Exception {
+        List<Boolean> created = runConcurrently(50, () -> {
+            try {
+                data.createUser(new UserData("user", "hash", "user@mail.com"));
+                return true;
+            } catch (DataAccessException e) {
+                return false;
+            }
+        });
+        assertEquals(1, created.stream().filter(c -> c).count());
+    }
+
+    @Test
+    public void updateDoesNotCreateGames() {
+        data.updateGame(new GameData(42, null, null, "ghost", new ChessGame()));
+        assertNull(data.getGame(42));
+    }
+
+    @Test
+    public void compareAndSetRejectsStaleVersion() throws Exception {
+        int id = data.createGame(new GameData(0, null, null, "game", new ChessGame()));
+        GameData read = data.getGame(id);
+        GameData white = new GameData(id, "white", null, "game", read.game(), read.version());
+        GameData black = new GameData(id, null, "black", "game", read.game(), read.version());
+
+        assertTrue(data.compareAndSetGame(white));
+        assertFalse(data.compareAndSetGame(black));
+        assertEquals("white", data.getGame(id).whiteUsername());
+        assertEquals(read.version() + 1, data.getGame(id).version());
+    }
+
+    @Test
+    public void appendMoveKeepsHistory() throws Exception {
+        int id = data.createGame(new GameData(0, null, null, "game", new ChessGame()));
+        GameData read = data.getGame(id);
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        ChessGame moved = ChessGame.decode(read.game().encode());
+        moved.makeMove(e4);
+
+        assertTrue(data.appendMove(new GameData(id, null, null, "game", moved, read.version()), e4));
+        assertFalse(data.appendMove(new GameData(id, null, null, "game", moved, read.version()), e4));
+        assertEquals(List.of(e4), data.getMoves(id).stream().map(MoveRecord::move).toList());
+        assertEquals(1, data.getGame(id).game().getMoveCount());
+    }
+
+    @Test
+    public void summariesPageFromCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            data.createGame(new GameData(0, null, null, "game" + i, new ChessGame()));
+        }
+        var page = data.listGameSummaries(new GameQuery(2, 2, false, null, null));
+        assertEquals(2, page.length);
+        assertEquals(3, page[0].gameID());
+        assertEquals(4, page[1].gameID());
+    }
+}
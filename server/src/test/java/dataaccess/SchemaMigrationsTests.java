@@ -0,0 +1,94 @@
+package dataaccess;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaMigrationsTests {
+
+    private Connection conn;
+
+    @BeforeEach
+    public void open() throws Exception {
+        conn = DriverManager.getConnection("jdbc:h2:mem:migrations;MODE=MySQL", "sa", "");
+    }
+
+    @AfterEach
+    public void close() throws Exception {
+        //the in-memory database goes away with its last connection
+        conn.close();
+    }
+
+    @Test
+    public void migratesEmptyDatabase() throws Exception {
+        assertEquals(SchemaMigrations.LATEST, SchemaMigrations.migrate(conn));
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM schema_version")) {
+            assertTrue(rs.next());
+            assertEquals(SchemaMigrations.MIGRATIONS.size(), rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void migrateTwiceIsNoOp() throws Exception {
+        SchemaMigrations.migrate(conn);
+        assertEquals(SchemaMigrations.LATEST, SchemaMigrations.migrate(conn));
+    }
+
+    @Test
+    public void upgradesDatabaseFromBeforeVersioning() throws Exception {
+        //a game as the original server stored it: the board as a grid of pieces, black to move after e4
+        String legacy = """
+                {"teamTurn":"BLACK","board":{"board":[
+                [{"color":"WHITE","type":"ROOK"},{"color":"WHITE","type":"KNIGHT"},{"color":"WHITE","type":"BISHOP"},\
+                {"color":"WHITE","type":"QUEEN"},{"color":"WHITE","type":"KING"},{"color":"WHITE","type":"BISHOP"},\
+                {"color":"WHITE","type":"KNIGHT"},{"color":"WHITE","type":"ROOK"}],
+                [{"color":"WHITE","type":"PAWN"},{"color":"WHITE","type":"PAWN"},{"color":"WHITE","type":"PAWN"},\
+                {"color":"WHITE","type":"PAWN"},null,{"color":"WHITE","type":"PAWN"},\
+                {"color":"WHITE","type":"PAWN"},{"color":"WHITE","type":"PAWN"}],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,null,{"color":"WHITE","type":"PAWN"},null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [{"color":"BLACK","type":"PAWN"},{"color":"BLACK","type":"PAWN"},{"color":"BLACK","type":"PAWN"},\
+                {"color":"BLACK","type":"PAWN"},{"color":"BLACK","type":"PAWN"},{"color":"BLACK","type":"PAWN"},\
+                {"color":"BLACK","type":"PAWN"},{"color":"BLACK","type":"PAWN"}],
+                [{"color":"BLACK","type":"ROOK"},{"color":"BLACK","type":"KNIGHT"},{"color":"BLACK","type":"BISHOP"},\
+                {"color":"BLACK","type":"QUEEN"},{"color":"BLACK","type":"KING"},{"color":"BLACK","type":"BISHOP"},\
+                {"color":"BLACK","type":"KNIGHT"},{"color":"BLACK","type":"ROOK"}]
+                ]}}""";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE users (username VARCHAR(255) PRIMARY KEY, "
+                    + "password VARCHAR(255) NOT NULL, email VARCHAR(255))");
+            stmt.executeUpdate("CREATE TABLE auth (token VARCHAR(255) PRIMARY KEY, username VARCHAR(255))");
+            stmt.executeUpdate("CREATE TABLE games (id INT PRIMARY KEY AUTO_INCREMENT, name VARCHAR(255) NOT NULL, "
+                    + "gameState TEXT, white VARCHAR(255), black VARCHAR(255))");
+            stmt.executeUpdate("INSERT INTO users VALUES ('white', 'hash', null), ('black', 'hash', null)");
+        }
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO games (name, gameState, white, black) VALUES ('old', ?, 'white', 'black')")) {
+            insert.setString(1, legacy);
+            insert.executeUpdate();
+        }
+
+        assertEquals(SchemaMigrations.LATEST, SchemaMigrations.migrate(conn));
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT gameState, status, version, turn FROM games")) {
+            assertTrue(rs.next());
+            assertEquals(legacy, new String(rs.getBytes("gameState"), StandardCharsets.UTF_8));
+            assertEquals("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1",
+                    SqlDataAccess.readGame(rs).toFen());
+            assertEquals("IN_PROGRESS", rs.getString("status"));
+            assertEquals(0, rs.getInt("version"));
+            assertEquals("BLACK", rs.getString("turn"));
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package dataaccess;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
 import model.AuthData;
 import model.GameData;
+import model.MoveRecord;
 import model.UserData;
 import model.request.ListGamesRequest;
 import model.result.ListGamesResult;
@@ -10,6 +13,13 @@ import org.junit.jupiter.api.*;
 import exceptions.UnauthorizedException;
 import service.GameService;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,6 +57,14 @@ public class SqlDataAccessTests {
         assertThrows(DataAccessException.class, () -> db.createUser(new UserData("bob", null, "b@email.com")));
     }
 
+    @Test
+    public void getExistingUsernames() throws DataAccessException {
+        db.createUser(new UserData("alice", "pw", "alice@email.com"));
+        db.createUser(new UserData("bob", "pw", "bob@email.com"));
+        assertEquals(Set.of("alice", "bob"), db.getExistingUsernames(List.of("alice", "bob", "carol", "alice")));
+        assertTrue(db.getExistingUsernames(List.of()).isEmpty());
+    }
+
     @Test
     public void getUserSuccess() throws DataAccessException {
         UserData user = new UserData("carol", "pw", "carol@email.com");
@@ -207,6 +225,160 @@ public class SqlDataAccessTests {
         assertEquals("blackPlayer", afterUpdate.blackUsername());
     }
 
+    @Test
+    public void compareAndSetGameSuccess() throws DataAccessException {
+        db.createUser(new UserData("whitePlayer", "pw", "white@email.com"));
+        int gameID = db.createGame(new GameData(0, null, null, "Contested", new ChessGame()));
+        GameData read = db.getGame(gameID);
+
+        GameData joined = new GameData(gameID, "whitePlayer", null, "Contested", read.game(), read.version());
+        assertTrue(db.compareAndSetGame(joined));
+        assertEquals(read.version() + 1, db.getGame(gameID).version());
+    }
+
+    @Test
+    public void compareAndSetGameFailure() throws DataAccessException {
+        db.createUser(new UserData("whitePlayer", "pw", "white@email.com"));
+        int gameID = db.createGame(new GameData(0, null, null, "Contested", new ChessGame()));
+        GameData read = db.getGame(gameID);
+        db.updateGame(new GameData(gameID, "whitePlayer", null, "Contested", read.game()));
+
+        GameData stale = new GameData(gameID, null, null, "Contested", read.game(), read.version());
+        assertFalse(db.compareAndSetGame(stale));
+        assertEquals("whitePlayer", db.getGame(gameID).whiteUsername());
+    }
+
+    @Test
+    public void appendMoveKeepsHistory() throws Exception {
+        int gameID = db.createGame(new GameData(0, null, null, "Shuffle", new ChessGame()));
+        ChessMove[] shuffle = {
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+                new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+                new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+                new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)};
+        for (int i = 0; i < 10; i++) {
+            GameData read = db.getGame(gameID);
+            ChessMove move = shuffle[i % shuffle.length];
+            read.game().makeMove(move);
+            assertTrue(db.appendMove(new GameData(gameID, null, null, "Shuffle", read.game(), read.version()), move));
+        }
+
+        GameData stored = db.getGame(gameID);
+        assertEquals(10, stored.game().getMoveCount());
+        List<MoveRecord> moves = db.getMoves(gameID);
+        assertEquals(10, moves.size());
+        ChessGame replayed = new ChessGame();
+        for (MoveRecord record : moves) {
+            replayed.makeMove(record.move());
+        }
+        assertEquals(stored.game(), replayed);
+        assertEquals(10, db.listGameSummaries(GameQuery.ALL)[0].moveCount());
+    }
+
+    @Test
+    public void appendMoveSnapshotsPeriodically() throws Exception {
+        int gameID = db.createGame(new GameData(0, null, null, "Shuffle", new ChessGame()));
+        ChessMove[] shuffle = {
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+                new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+                new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+                new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)};
+        int plies = SqlDataAccess.SNAPSHOT_PLIES + 5;
+        for (int i = 0; i < plies; i++) {
+            GameData read = db.getGame(gameID);
+            assertEquals(i, read.game().getMoveCount());
+            ChessMove move = shuffle[i % shuffle.length];
+            read.game().makeMove(move);
+            assertTrue(db.appendMove(new GameData(gameID, null, null, "Shuffle", read.game(), read.version()), move));
+        }
+
+        try (Connection conn = db.pool().borrow();
+             PreparedStatement stmt = conn.prepareStatement("SELECT gameState FROM games WHERE id = ?")) {
+            stmt.setInt(1, gameID);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next());
+                assertEquals(SqlDataAccess.SNAPSHOT_PLIES, SqlDataAccess.readGame(rs).getMoveCount());
+            }
+        }
+        //replayed on top of the snapshot, with the repetitions it remembers
+        ChessGame stored = db.getGame(gameID).game();
+        assertEquals(plies, stored.getMoveCount());
+        assertEquals(ChessGame.TeamColor.BLACK, stored.getTeamTurn());
+        assertTrue(stored.isThreefoldRepetition());
+        assertEquals(stored, db.listGames()[0].game());
+    }
+
+    @Test
+    public void appendMoveRejectsStaleVersion() throws Exception {
+        int gameID = db.createGame(new GameData(0, null, null, "Race", new ChessGame()));
+        GameData read = db.getGame(gameID);
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        ChessMove d4 = new ChessMove(new ChessPosition(2, 4), new ChessPosition(4, 4), null);
+        ChessGame first = db.getGame(gameID).game();
+        first.makeMove(e4);
+        ChessGame second = db.getGame(gameID).game();
+        second.makeMove(d4);
+
+        assertTrue(db.appendMove(new GameData(gameID, null, null, "Race", first, read.version()), e4));
+        assertFalse(db.appendMove(new GameData(gameID, null, null, "Race", second, read.version()), d4));
+        assertEquals(1, db.getMoves(gameID).size());
+        assertEquals(first, db.getGame(gameID).game());
+    }
+
+    @Test
+    public void createGamesSuccess() throws DataAccessException {
+        db.createUser(new UserData("whitePlayer", "pw", "white@email.com"));
+        List<GameData> games = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            games.add(new GameData(0, i == 0 ? "whitePlayer" : null, null, "Board " + i, new ChessGame()));
+        }
+        int[] ids = db.createGames(games);
+
+        assertEquals(1200, ids.length);
+        assertEquals(1200, Arrays.stream(ids).distinct().count());
+        assertEquals("Board 0", db.getGame(ids[0]).gameName());
+        assertEquals("whitePlayer", db.getGame(ids[0]).whiteUsername());
+        assertEquals("Board 1199", db.getGame(ids[1199]).gameName());
+    }
+
+    @Test
+    public void createGamesFailure() {
+        List<GameData> games = List.of(
+                new GameData(0, null, null, "Fine", new ChessGame()),
+                new GameData(0, null, null, null, new ChessGame()));
+        assertThrows(DataAccessException.class, () -> db.createGames(games));
+        assertDoesNotThrow(() -> assertEquals(0, db.listGames().length));
+    }
+
+    @Test
+    public void createUsersSuccess() throws DataAccessException {
+        db.createUsers(List.of(new UserData("a", "pw", "a@mail.com"), new UserData("b", "pw", "b@mail.com")));
+        assertNotNull(db.getUser("a"));
+        assertNotNull(db.getUser("b"));
+    }
+
+    @Test
+    public void createUsersFailure() throws DataAccessException {
+        db.createUser(new UserData("b", "pw", "b@mail.com"));
+        List<UserData> users = List.of(new UserData("a", "pw", "a@mail.com"), new UserData("b", "pw", "b@mail.com"));
+        assertThrows(DataAccessException.class, () -> db.createUsers(users));
+        assertNull(db.getUser("a"));
+    }
+
+    @Test
+    public void updateGamesSuccess() throws DataAccessException {
+        db.createUser(new UserData("whitePlayer", "pw", "white@email.com"));
+        int[] ids = db.createGames(List.of(
+                new GameData(0, null, null, "One", new ChessGame()),
+                new GameData(0, null, null, "Two", new ChessGame())));
+        db.updateGames(List.of(
+                new GameData(ids[0], "whitePlayer", null, "One", new ChessGame()),
+                new GameData(ids[1], null, "whitePlayer", "Two", new ChessGame())));
+        assertEquals("whitePlayer", db.getGame(ids[0]).whiteUsername());
+        assertEquals("whitePlayer", db.getGame(ids[1]).blackUsername());
+        assertEquals(1, db.getGame(ids[1]).version());
+    }
+
     @Test
     public void updateGameFailure() throws DataAccessException {
         ChessGame game = new ChessGame();
@@ -0,0 +1,96 @@
+package logging;
+
+import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncLogSinkTests {
+
+    private final List<LogEvent> written = new CopyOnWriteArrayList<>();
+
+    private static LogEvent event(String name, Object... fields) {
+        return new LogEvent(LoggerFactory.getLogger(AsyncLogSinkTests.class), Level.INFO, name, fields, null,
+                0, "main");
+    }
+
+    @Test
+    public void writesInOrder() {
+        AsyncLogSink sink = new AsyncLogSink(16, written::add);
+        sink.start();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(sink.publish(event("e" + i)));
+            if (i % 10 == 9) {
+                assertTrue(sink.flush(1000));
+            }
+        }
+        assertEquals(100, written.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("e" + i, written.get(i).event());
+        }
+    }
+
+    @Test
+    public void fullBufferDropsAndReports() {
+        AsyncLogSink sink = new AsyncLogSink(4, written::add);
+        for (int i = 0; i < 6; i++) {
+            sink.publish(event("e" + i));
+        }
+        assertEquals(2, sink.dropped());
+
+        sink.start();
+        assertTrue(sink.flush(1000));
+        //the four that fit, then a warning about the two that did not
+        assertEquals(5, written.size());
+        assertEquals("e3", written.get(3).event());
+        assertEquals("log_events_dropped", written.get(4).event());
+    }
+
+    @Test
+    public void brokenWriterIsCountedAndSkipped() {
+        AsyncLogSink sink = new AsyncLogSink(16, e -> {
+            if (e.event().equals("bad")) {
+                throw new IllegalStateException("appender failed");
+            }
+            written.add(e);
+        });
+        sink.start();
+        sink.publish(event("bad"));
+        sink.publish(event("good"));
+        assertTrue(sink.flush(1000));
+        assertEquals(1, sink.writeFailures());
+        assertEquals(1, written.size());
+        assertEquals("good", written.get(0).event());
+    }
+
+    @Test
+    public void concurrentPublishersLoseNothingThatFits() throws Exception {
+        AsyncLogSink sink = new AsyncLogSink(1 << 16, written::add);
+        sink.start();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    sink.publish(event("e"));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(sink.flush(5000));
+        assertEquals(20000, written.size());
+    }
+
+    @Test
+    public void formatsAsLogfmt() {
+        String line = event("join_game", "gameID", 3, "name", "two words", "empty", "").format();
+        assertEquals("ts=1970-01-01T00:00:00Z thread=main event=join_game gameID=3 name=\"two words\" empty=\"\"",
+                line);
+    }
+}
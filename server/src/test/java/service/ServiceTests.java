@@ -1,15 +1,26 @@
 package service;
 
 import chess.ChessGame;
+import chess.ChessMove;
+import chess.ChessPosition;
 import dataaccess.DataAccessException;
 import dataaccess.SqlDataAccess;
+import exceptions.AlreadyTakenException;
+import exceptions.BadRequestException;
+import exceptions.ForbiddenException;
+import exceptions.UnauthorizedException;
 import model.*;
 import model.request.*;
 import model.result.*;
 import model.result.RegisterResult;
 import org.junit.jupiter.api.*;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,10 +39,16 @@ public class ServiceTests {
             throw new RuntimeException(e);
         }
         clearService = new ClearService(data);
+        System.setProperty(Admins.PROPERTY, "admin");
         gameService = new GameService(data);
         userService = new UserService(data);
     }
 
+    @AfterAll
+    public static void clearAdmins() {
+        System.clearProperty(Admins.PROPERTY);
+    }
+
     @BeforeEach
     public void reset() {
         clearService.clear();
@@ -95,6 +112,62 @@ public class ServiceTests {
         assertThrows(Exception.class, () -> gameService.createGame(request));
     }
 
+    @Test
+    public void createGamesSuccess() throws Exception {
+        String auth = userService.register(new RegisterRequest("admin", "pass", "admin@mail.com")).authToken();
+        userService.register(new RegisterRequest("user", "pass", "mail@mail.com"));
+        CreateGamesResult result = gameService.createGames(new CreateGamesRequest(auth, List.of(
+                new CreateGamesRequest.NewGame("Board 1", "user", null),
+                new CreateGamesRequest.NewGame("Board 2", null, "user"))));
+        assertEquals(2, result.gameIDs().size());
+        assertEquals("user", data.getGame(result.gameIDs().get(0)).whiteUsername());
+    }
+
+    @Test
+    public void createGamesFail() throws Exception {
+        String auth = userService.register(new RegisterRequest("admin", "pass", "admin@mail.com")).authToken();
+        CreateGamesRequest request = new CreateGamesRequest(auth, List.of(
+                new CreateGamesRequest.NewGame("Board 1", null, null),
+                new CreateGamesRequest.NewGame(" ", null, null)));
+        assertThrows(BadRequestException.class, () -> gameService.createGames(request));
+        CreateGamesRequest unknown = new CreateGamesRequest(auth, List.of(
+                new CreateGamesRequest.NewGame("Board 1", "admin", "nobody")));
+        assertThrows(BadRequestException.class, () -> gameService.createGames(unknown));
+        assertEquals(0, gameService.listGames(new ListGamesRequest(auth)).games().size());
+
+        String user = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        CreateGamesRequest notAdmin = new CreateGamesRequest(user, List.of(
+                new CreateGamesRequest.NewGame("Board 1", null, null)));
+        assertThrows(ForbiddenException.class, () -> gameService.createGames(notAdmin));
+    }
+
+    @Test
+    public void registerUsersSuccess() throws Exception {
+        String auth = userService.register(new RegisterRequest("admin", "pass", "admin@mail.com")).authToken();
+        userService.registerUsers(new RegisterUsersRequest(auth, List.of(
+                new RegisterRequest("a", "passA", "a@mail.com"),
+                new RegisterRequest("b", "passB", "b@mail.com"))));
+        assertNotNull(userService.login(new LoginRequest("b", "passB")).authToken());
+    }
+
+    @Test
+    public void registerUsersFail() throws Exception {
+        RegisterUsersRequest request = new RegisterUsersRequest("badToken",
+                List.of(new RegisterRequest("a", "passA", "a@mail.com")));
+        assertThrows(UnauthorizedException.class, () -> userService.registerUsers(request));
+
+        String user = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        assertThrows(ForbiddenException.class, () -> userService.registerUsers(new RegisterUsersRequest(user,
+                List.of(new RegisterRequest("a", "passA", "a@mail.com")))));
+
+        String admin = userService.register(new RegisterRequest("admin", "pass", "admin@mail.com")).authToken();
+        assertThrows(AlreadyTakenException.class, () -> userService.registerUsers(new RegisterUsersRequest(admin,
+                List.of(new RegisterRequest("a", "passA", "a@mail.com"), new RegisterRequest("a", "passB", "b@mail.com")))));
+        assertThrows(AlreadyTakenException.class, () -> userService.registerUsers(new RegisterUsersRequest(admin,
+                List.of(new RegisterRequest("a", "passA", "a@mail.com"), new RegisterRequest("user", "pass", "u@mail.com")))));
+        assertNull(data.getUser("a"));
+    }
+
     @Test
     public void listGamesSuccess() throws Exception {
         RegisterRequest registerRequest = new RegisterRequest("user", "pass", "mail@mail.com");
@@ -105,7 +178,7 @@ public class ServiceTests {
         gameService.createGame(new CreateGameRequest(authToken1, "Game2"));
 
         ListGamesResult listGamesResult = gameService.listGames(new ListGamesRequest(authToken1));
-        Collection<GameData> games = listGamesResult.games();
+        Collection<GameSummary> games = listGamesResult.games();
 
         assertEquals(2, games.size());
         assertTrue(games.stream().anyMatch(g -> g.gameName().equals("Game1")));
@@ -119,6 +192,62 @@ public class ServiceTests {
     }
 
 
+    @Test
+    public void listGamesPaged() throws Exception {
+        String auth = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        for (int i = 0; i < 5; i++) {
+            gameService.createGame(new CreateGameRequest(auth, "Game" + i));
+        }
+
+        ListGamesResult first = gameService.listGames(new ListGamesRequest(auth, null, 2, false, null, null));
+        assertEquals(2, first.games().size());
+        assertNotNull(first.nextCursor());
+
+        ListGamesResult second = gameService.listGames(new ListGamesRequest(auth, first.nextCursor(), 2, false, null, null));
+        ListGamesResult last = gameService.listGames(new ListGamesRequest(auth, second.nextCursor(), 2, false, null, null));
+        assertEquals(1, last.games().size());
+        assertNull(last.nextCursor());
+        assertEquals("Game4", last.games().iterator().next().gameName());
+    }
+
+    @Test
+    public void listGamesFiltered() throws Exception {
+        String auth = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        String other = userService.register(new RegisterRequest("other", "pass", "other@mail.com")).authToken();
+        int full = gameService.createGame(new CreateGameRequest(auth, "Full game")).gameID();
+        gameService.createGame(new CreateGameRequest(auth, "Open game"));
+        gameService.createGame(new CreateGameRequest(auth, "100% open"));
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.WHITE, full, auth));
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.BLACK, full, other));
+
+        assertEquals(2, gameService.listGames(new ListGamesRequest(auth, null, null, true, null, null)).games().size());
+        Collection<GameSummary> mine = gameService.listGames(new ListGamesRequest(auth, null, null, false, "other", null)).games();
+        assertEquals(1, mine.size());
+        assertEquals(GameStatus.IN_PROGRESS, mine.iterator().next().status());
+        assertEquals(1, gameService.listGames(new ListGamesRequest(auth, null, null, false, null, "Open")).games().size());
+        assertEquals(1, gameService.listGames(new ListGamesRequest(auth, null, null, false, null, "100%")).games().size());
+    }
+
+    @Test
+    public void listGamesSummarizesState() throws Exception {
+        String auth = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        int gameID = gameService.createGame(new CreateGameRequest(auth, "Game")).gameID();
+        GameData game = data.getGame(gameID);
+        game.game().makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        data.updateGame(game);
+
+        GameSummary summary = gameService.listGames(new ListGamesRequest(auth)).games().iterator().next();
+        assertEquals(GameStatus.OPEN, summary.status());
+        assertEquals(1, summary.moveCount());
+    }
+
+    @Test
+    public void listGamesBadLimit() throws Exception {
+        String auth = userService.register(new RegisterRequest("user", "pass", "mail@mail.com")).authToken();
+        ListGamesRequest request = new ListGamesRequest(auth, null, 0, false, null, null);
+        assertThrows(BadRequestException.class, () -> gameService.listGames(request));
+    }
+
     @Test
     public void joinGameSuccess() throws Exception {
         RegisterResult reg = userService.register(new RegisterRequest("test", "pass", "email@test.com"));
@@ -127,6 +256,93 @@ public class ServiceTests {
         assertDoesNotThrow(() -> gameService.joinGame(join));
     }
 
+    @Test
+    public void concurrentJoinsClaimSeatOnce() throws Exception {
+        int players = 8;
+        String[] tokens = new String[players];
+        for (int i = 0; i < players; i++) {
+            tokens[i] = userService.register(new RegisterRequest("user" + i, "pass", i + "@mail.com")).authToken();
+        }
+        int gameID = gameService.createGame(new CreateGameRequest(tokens[0], "Contested")).gameID();
+
+        ExecutorService pool = Executors.newFixedThreadPool(players);
+        try {
+            List<Future<Boolean>> joins = new ArrayList<>();
+            for (String token : tokens) {
+                joins.add(pool.submit(() -> {
+                    try {
+                        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.WHITE, gameID, token));
+                        return true;
+                    } catch (AlreadyTakenException e) {
+                        return false;
+                    }
+                }));
+            }
+            int seated = 0;
+            for (Future<Boolean> join : joins) {
+                seated += join.get() ? 1 : 0;
+            }
+            assertEquals(1, seated);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void makeMoveSuccess() throws Exception {
+        String white = userService.register(new RegisterRequest("white", "pass", "w@mail.com")).authToken();
+        String black = userService.register(new RegisterRequest("black", "pass", "b@mail.com")).authToken();
+        int gameID = gameService.createGame(new CreateGameRequest(white, "Game1")).gameID();
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.WHITE, gameID, white));
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.BLACK, gameID, black));
+
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        MakeMoveResult result = gameService.makeMove(new MakeMoveRequest(white, gameID, e4));
+        assertEquals(GameStatus.IN_PROGRESS, result.status());
+        assertEquals(1, result.moveCount());
+        assertEquals(ChessGame.TeamColor.BLACK, data.getGame(gameID).game().getTeamTurn());
+        assertEquals(e4, data.getMoves(gameID).get(0).move());
+    }
+
+    @Test
+    public void makeMoveFail() throws Exception {
+        String white = userService.register(new RegisterRequest("white", "pass", "w@mail.com")).authToken();
+        String black = userService.register(new RegisterRequest("black", "pass", "b@mail.com")).authToken();
+        int gameID = gameService.createGame(new CreateGameRequest(white, "Game1")).gameID();
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.WHITE, gameID, white));
+        ChessMove e4 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null);
+        assertThrows(BadRequestException.class, () -> gameService.makeMove(new MakeMoveRequest(white, gameID, e4)));
+
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.BLACK, gameID, black));
+        assertThrows(BadRequestException.class, () -> gameService.makeMove(new MakeMoveRequest(black, gameID, e4)));
+        ChessMove e5 = new ChessMove(new ChessPosition(2, 5), new ChessPosition(5, 5), null);
+        assertThrows(BadRequestException.class, () -> gameService.makeMove(new MakeMoveRequest(white, gameID, e5)));
+        assertTrue(data.getMoves(gameID).isEmpty());
+    }
+
+    @Test
+    public void makeMoveAfterDrawFails() throws Exception {
+        String white = userService.register(new RegisterRequest("white", "pass", "w@mail.com")).authToken();
+        String black = userService.register(new RegisterRequest("black", "pass", "b@mail.com")).authToken();
+        int gameID = gameService.createGame(new CreateGameRequest(white, "Game1")).gameID();
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.WHITE, gameID, white));
+        gameService.joinGame(new JoinGameRequest(ChessGame.TeamColor.BLACK, gameID, black));
+
+        //knights out and back twice repeats the starting position a third time
+        ChessMove[] shuffle = {
+                new ChessMove(new ChessPosition(1, 7), new ChessPosition(3, 6), null),
+                new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null),
+                new ChessMove(new ChessPosition(3, 6), new ChessPosition(1, 7), null),
+                new ChessMove(new ChessPosition(6, 6), new ChessPosition(8, 7), null)};
+        MakeMoveResult result = null;
+        for (int i = 0; i < 8; i++) {
+            result = gameService.makeMove(new MakeMoveRequest(i % 2 == 0 ? white : black, gameID, shuffle[i % 4]));
+        }
+        assertEquals(GameStatus.DRAW, result.status());
+        assertThrows(BadRequestException.class,
+                () -> gameService.makeMove(new MakeMoveRequest(white, gameID, shuffle[0])));
+    }
+
     @Test
     public void joinGameFail() throws Exception {
         RegisterResult reg = userService.register(new RegisterRequest("test", "pass", "email@test.com"));
@@ -0,0 +1,175 @@
+package chess;
+
+/**
+ * Precomputed attack masks used by move generation.
+ * <p>
+ * Knight, king and pawn targets, pushes as well as captures, are looked up per
+ * square and color. Sliding
+ * pieces use precomputed rays: the ray in a direction is cut at the first
+ * blocker by removing that blocker's own ray in the same direction.
+ */
+public final class Attacks {
+    //directions, ordered so the first four increase the square index
+    static final int NORTH = 0;
+    static final int EAST = 1;
+    static final int NORTH_EAST = 2;
+    static final int NORTH_WEST = 3;
+    static final int SOUTH = 4;
+    static final int WEST = 5;
+    static final int SOUTH_WEST = 6;
+    static final int SOUTH_EAST = 7;
+
+    private static final int[] ROW_STEP = {1, 0, 1, 1, -1, 0, -1, -1};
+    private static final int[] COLUMN_STEP = {0, 1, 1, -1, 0, -1, -1, 1};
+
+    private static final long[] KNIGHT = new long[64];
+    private static final long[] KING = new long[64];
+    private static final long[][] PAWN = new long[2][64];
+    private static final long[][] PAWN_PUSH = new long[2][64];
+    //only set for pawns still on their starting row
+    private static final long[][] PAWN_DOUBLE_PUSH = new long[2][64];
+    private static final long[][] RAYS = new long[8][64];
+    private static final long[][] BETWEEN = new long[64][64];
+    private static final long[][] LINE = new long[64][64];
+
+    static {
+        int[][] knightSteps = {{1, 2}, {1, -2}, {2, 1}, {2, -1}, {-1, 2}, {-1, -2}, {-2, 1}, {-2, -1}};
+        for (int square = 0; square < 64; square++) {
+            int row = square >>> 3;
+            int column = square & 7;
+            for (int[] step : knightSteps) {
+                KNIGHT[square] |= maskAt(row + step[0], column + step[1]);
+            }
+            for (int dir = 0; dir < 8; dir++) {
+                KING[square] |= maskAt(row + ROW_STEP[dir], column + COLUMN_STEP[dir]);
+                for (int r = row + ROW_STEP[dir], c = column + COLUMN_STEP[dir];
+                     r >= 0 && r < 8 && c >= 0 && c < 8; r += ROW_STEP[dir], c += COLUMN_STEP[dir]) {
+                    RAYS[dir][square] |= 1L << (r * 8 + c);
+                }
+            }
+            PAWN[0][square] = maskAt(row + 1, column - 1) | maskAt(row + 1, column + 1);
+            PAWN[1][square] = maskAt(row - 1, column - 1) | maskAt(row - 1, column + 1);
+            PAWN_PUSH[0][square] = maskAt(row + 1, column);
+            PAWN_PUSH[1][square] = maskAt(row - 1, column);
+            PAWN_DOUBLE_PUSH[0][square] = row == 1 ? maskAt(row + 2, column) : 0L;
+            PAWN_DOUBLE_PUSH[1][square] = row == 6 ? maskAt(row - 2, column) : 0L;
+        }
+        for (int square = 0; square < 64; square++) {
+            for (int dir = 0; dir < 8; dir++) {
+                long line = RAYS[dir][square] | RAYS[(dir + 4) % 8][square] | (1L << square);
+                long between = 0L;
+                long ray = RAYS[dir][square];
+                //walk outward so each target sees only the squares before it
+                while (ray != 0) {
+                    int target = dir < SOUTH ? Long.numberOfTrailingZeros(ray) : 63 - Long.numberOfLeadingZeros(ray);
+                    ray &= ~(1L << target);
+                    BETWEEN[square][target] = between;
+                    LINE[square][target] = line;
+                    between |= 1L << target;
+                }
+            }
+        }
+    }
+
+    private Attacks() {
+    }
+
+    private static long maskAt(int row, int column) {
+        if (row < 0 || row >= 8 || column < 0 || column >= 8) {
+            return 0L;
+        }
+        return 1L << (row * 8 + column);
+    }
+
+    public static long knightAttacks(int square) {
+        return KNIGHT[square];
+    }
+
+    public static long kingAttacks(int square) {
+        return KING[square];
+    }
+
+    /**
+     * @return the squares a pawn of the given color standing on {@code square} captures on
+     */
+    public static long pawnAttacks(ChessGame.TeamColor color, int square) {
+        return PAWN[color.ordinal()][square];
+    }
+
+    /**
+     * @return the square a pawn of the given color on {@code square} moves to by a single push
+     */
+    public static long pawnPushes(ChessGame.TeamColor color, int square) {
+        return PAWN_PUSH[color.ordinal()][square];
+    }
+
+    /**
+     * @return the square two rows ahead if the pawn is on its starting row, otherwise an empty mask
+     */
+    public static long pawnDoublePushes(ChessGame.TeamColor color, int square) {
+        return PAWN_DOUBLE_PUSH[color.ordinal()][square];
+    }
+
+    public static long rookAttacks(int square, long occupied) {
+        return rayAttacks(NORTH, square, occupied) | rayAttacks(EAST, square, occupied)
+                | rayAttacks(SOUTH, square, occupied) | rayAttacks(WEST, square, occupied);
+    }
+
+    public static long bishopAttacks(int square, long occupied) {
+        return rayAttacks(NORTH_EAST, square, occupied) | rayAttacks(NORTH_WEST, square, occupied)
+                | rayAttacks(SOUTH_EAST, square, occupied) | rayAttacks(SOUTH_WEST, square, occupied);
+    }
+
+    public static long queenAttacks(int square, long occupied) {
+        return rookAttacks(square, occupied) | bishopAttacks(square, occupied);
+    }
+
+    /**
+     * @return the attack mask of a piece of the given type, pawns excluded
+     */
+    public static long attacks(ChessPiece.PieceType type, int square, long occupied) {
+        return switch (type) {
+            case KING -> KING[square];
+            case QUEEN -> queenAttacks(square, occupied);
+            case BISHOP -> bishopAttacks(square, occupied);
+            case KNIGHT -> KNIGHT[square];
+            case ROOK -> rookAttacks(square, occupied);
+            case PAWN -> throw new IllegalArgumentException("Pawn attacks depend on color");
+        };
+    }
+
+    /**
+     * @return the squares strictly between two squares on a shared row, column or
+     * diagonal, or an empty mask if they are not aligned
+     */
+    public static long between(int from, int to) {
+        return BETWEEN[from][to];
+    }
+
+    /**
+     * @return every square on the row, column or diagonal through both squares,
+     * or an empty mask if they are not aligned
+     */
+    public static long line(int from, int to) {
+        return LINE[from][to];
+    }
+
+    /**
+     * @return the full, unblocked ray leaving a square in a direction
+     */
+    static long ray(int direction, int square) {
+        return RAYS[direction][square];
+    }
+
+    static long rayAttacks(int direction, int square, long occupied) {
+        long ray = RAYS[direction][square];
+        long blockers = ray & occupied;
+        if (blockers == 0) {
+            return ray;
+        }
+        int blocker = direction < SOUTH
+                ? Long.numberOfTrailingZeros(blockers)
+                : 63 - Long.numberOfLeadingZeros(blockers);
+        return ray ^ RAYS[direction][blocker];
+    }
+}
@@ -0,0 +1,82 @@
+package chess;
+
+/**
+ * Helpers for working with 64-bit board masks.
+ * <p>
+ * Squares are numbered 0-63 starting at a1 (row 1, column 1) and moving
+ * across each row, so bit {@code (row - 1) * 8 + (column - 1)} of a mask
+ * represents that square.
+ */
+public final class Bitboards {
+    public static final int NO_SQUARE = -1;
+
+    public static final long FILE_A = 0x0101010101010101L;
+    public static final long FILE_H = FILE_A << 7;
+    public static final long RANK_1 = 0xFFL;
+    public static final long RANK_2 = RANK_1 << 8;
+    public static final long RANK_4 = RANK_1 << 24;
+    public static final long RANK_5 = RANK_1 << 32;
+    public static final long RANK_7 = RANK_1 << 48;
+    public static final long RANK_8 = RANK_1 << 56;
+    //a1 is a dark square
+    public static final long DARK_SQUARES = 0xAA55AA55AA55AA55L;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private Bitboards() {
+    }
+
+    /**
+     * @return the square index for a 1-based row and column
+     */
+    public static int square(int row, int column) {
+        if (row < 1 || row > 8 || column < 1 || column > 8) {
+            throw new IndexOutOfBoundsException("Position off board: row " + row + ", column " + column);
+        }
+        return (row - 1) * 8 + (column - 1);
+    }
+
+    public static int square(ChessPosition position) {
+        return square(position.getRow(), position.getColumn());
+    }
+
+    /**
+     * @return the 1-based row of a square index
+     */
+    public static int row(int square) {
+        return (square >>> 3) + 1;
+    }
+
+    /**
+     * @return the 1-based column of a square index
+     */
+    public static int column(int square) {
+        return (square & 7) + 1;
+    }
+
+    public static long bit(int square) {
+        return 1L << square;
+    }
+
+    /**
+     * @return the lowest set square of a mask, or {@link #NO_SQUARE} if the mask is empty
+     */
+    public static int firstSquare(long mask) {
+        return mask == 0 ? NO_SQUARE : Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Index of the bitboard holding pieces of the given color and type
+     */
+    public static int pieceIndex(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return color.ordinal() * 6 + type.ordinal();
+    }
+
+    public static ChessGame.TeamColor colorOf(int pieceIndex) {
+        return pieceIndex < 6 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+    }
+
+    public static ChessPiece.PieceType typeOf(int pieceIndex) {
+        return TYPES[pieceIndex % 6];
+    }
+}
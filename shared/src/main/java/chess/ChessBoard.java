@@ -5,15 +5,70 @@ import java.util.Arrays;
 /**
  * A chessboard that can hold and rearrange chess pieces.
  * <p>
+ * Pieces are stored as twelve bitboards, one per color and piece type, so
+ * copies and occupancy queries only touch a handful of longs. The
+ * {@link #getPiece}/{@link #addPiece} methods adapt those bitboards to the
+ * square-by-square API the rest of the project uses.
+ * <p>
  * Note: You can add to this class, but you may not alter
  * signature of the existing methods.
  */
 public class ChessBoard {
+    public static final int WHITE_KINGSIDE = 1;
+    public static final int WHITE_QUEENSIDE = 2;
+    public static final int BLACK_KINGSIDE = 4;
+    public static final int BLACK_QUEENSIDE = 8;
+    public static final int ALL_CASTLING = 15;
+    /**
+     * The halfmove clock stops counting here, well past the seventy-five move rule
+     */
+    public static final int MAX_HALFMOVE_CLOCK = 255;
+
+    private static final int EN_PASSANT_SHIFT = 4;
+    private static final int CLOCK_SHIFT = 11;
+
+    //shared instances handed out by getPiece, indexed like bitboards
+    private static final ChessPiece[] PIECES = new ChessPiece[12];
+    //castling rights that survive a move touching each square
+    private static final int[] CASTLING_KEPT = new int[64];
+
+    static {
+        for (ChessGame.TeamColor color : ChessGame.TeamColor.values()) {
+            for (ChessPiece.PieceType type : ChessPiece.PieceType.values()) {
+                PIECES[Bitboards.pieceIndex(color, type)] = new ChessPiece(color, type);
+            }
+        }
+        Arrays.fill(CASTLING_KEPT, ALL_CASTLING);
+        CASTLING_KEPT[0] = ALL_CASTLING & ~WHITE_QUEENSIDE;
+        CASTLING_KEPT[4] = ALL_CASTLING & ~(WHITE_KINGSIDE | WHITE_QUEENSIDE);
+        CASTLING_KEPT[7] = ALL_CASTLING & ~WHITE_KINGSIDE;
+        CASTLING_KEPT[56] = ALL_CASTLING & ~BLACK_QUEENSIDE;
+        CASTLING_KEPT[60] = ALL_CASTLING & ~(BLACK_KINGSIDE | BLACK_QUEENSIDE);
+        CASTLING_KEPT[63] = ALL_CASTLING & ~BLACK_KINGSIDE;
+    }
+
+    private long[] bitboards;
+    private long[] occupancy;
+    private ChessGame.TeamColor sideToMove;
+    //castling rights in bits 0-3, en passant square + 1 in bits 4-10, halfmove clock in bits 11-18
+    private int state;
+
+    //Zobrist key of the piece placement alone, kept up to date as pieces move
+    private transient long pieceKey;
+    //boards read back by Gson skip the constructor's bookkeeping, so the key starts stale
+    private transient boolean pieceKeyStale = true;
+
+    //one undo record per move made with makeMove, newest last
+    private transient long[] undoRecords = new long[64];
+    private transient long[] undoKeys = new long[64];
+    private transient int undoCount;
 
-    private ChessPiece[][] board;
     public ChessBoard() {
-        board = new ChessPiece[8][8];
+        bitboards = new long[12];
+        occupancy = new long[2];
+        sideToMove = ChessGame.TeamColor.WHITE;
     }
+
     /**
      * Adds a chess piece to the chessboard
      *
@@ -21,7 +76,11 @@ public class ChessBoard {
      * @param piece    the piece to add
      */
     public void addPiece(ChessPosition position, ChessPiece piece) {
-        board[position.getRow()-1][position.getColumn()-1]= piece;
+        int square = Bitboards.square(position);
+        clearSquare(square);
+        if (piece != null) {
+            setPiece(square, Bitboards.pieceIndex(piece.getTeamColor(), piece.getPieceType()));
+        }
     }
 
     /**
@@ -32,7 +91,8 @@ public class ChessBoard {
      * position
      */
     public ChessPiece getPiece(ChessPosition position) {
-        return board[position.getRow()-1][position.getColumn()-1];
+        int index = pieceIndexAt(Bitboards.square(position));
+        return index < 0 ? null : PIECES[index];
     }
 
     /**
@@ -40,33 +100,388 @@ public class ChessBoard {
      * (How the game of chess normally starts)
      */
     public void resetBoard() {
+        Arrays.fill(bitboards, 0L);
+        Arrays.fill(occupancy, 0L);
+        pieceKey = 0L;
+        pieceKeyStale = false;
         resetFrontRanks();
         resetBackRanks();
+        sideToMove = ChessGame.TeamColor.WHITE;
+        state = ALL_CASTLING;
     }
 
+    /**
+     * Builds an 8x8 grid of the pieces on this board, indexed [row - 1][column - 1]
+     */
     public ChessPiece[][] getPieces() {
-        return board;
+        ChessPiece[][] pieces = new ChessPiece[8][8];
+        long occupied = getOccupancy();
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            pieces[square >>> 3][square & 7] = PIECES[pieceIndexAt(square)];
+        }
+        return pieces;
     }
+
     public ChessBoard cloneBoard(){
         ChessBoard newBoard = new ChessBoard();
-        for(int r=1;r<=8;r++){
-            for (int c=1;c<=8;c++){
-                ChessPosition pos = new ChessPosition(r,c);
-                ChessPiece piece = getPiece(pos);
-                if(piece!=null){
-                    newBoard.addPiece(pos,new ChessPiece(piece.getTeamColor(),piece.getPieceType()));
-                }
-                else {
-                    newBoard.addPiece(pos, null);
+        newBoard.copyFrom(this);
+        return newBoard;
+    }
+
+    /**
+     * Overwrites this board with the pieces and state of another board
+     */
+    public void copyFrom(ChessBoard other) {
+        System.arraycopy(other.bitboards, 0, bitboards, 0, bitboards.length);
+        System.arraycopy(other.occupancy, 0, occupancy, 0, occupancy.length);
+        sideToMove = other.sideToMove;
+        state = other.state;
+        pieceKey = other.pieceKey;
+        pieceKeyStale = other.pieceKeyStale;
+        undoCount = 0;
+    }
+
+    /**
+     * @return mask of the squares holding pieces of the given color and type
+     */
+    public long getBitboard(ChessGame.TeamColor color, ChessPiece.PieceType type) {
+        return bitboards[Bitboards.pieceIndex(color, type)];
+    }
+
+    /**
+     * @return mask of the squares holding pieces of the given color
+     */
+    public long getOccupancy(ChessGame.TeamColor color) {
+        return occupancy[color.ordinal()];
+    }
+
+    /**
+     * @return mask of every occupied square
+     */
+    public long getOccupancy() {
+        return occupancy[0] | occupancy[1];
+    }
+
+    public ChessGame.TeamColor getSideToMove() {
+        return sideToMove;
+    }
+
+    public void setSideToMove(ChessGame.TeamColor sideToMove) {
+        this.sideToMove = sideToMove;
+    }
+
+    /**
+     * @return castling rights still available, as a combination of
+     * {@link #WHITE_KINGSIDE}, {@link #WHITE_QUEENSIDE}, {@link #BLACK_KINGSIDE}
+     * and {@link #BLACK_QUEENSIDE}
+     */
+    public int getCastlingRights() {
+        return state & ALL_CASTLING;
+    }
+
+    public void setCastlingRights(int castlingRights) {
+        state = (state & ~ALL_CASTLING) | (castlingRights & ALL_CASTLING);
+    }
+
+    /**
+     * Sets castling rights from the pieces alone, for boards set up without a history:
+     * each right is granted while its king and rook stand on their starting squares
+     */
+    public void inferCastlingRights() {
+        int rights = 0;
+        long whiteRooks = getBitboard(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.ROOK);
+        long blackRooks = getBitboard(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK);
+        if ((getBitboard(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KING) & Bitboards.bit(4)) != 0) {
+            rights |= (whiteRooks & Bitboards.bit(7)) != 0 ? WHITE_KINGSIDE : 0;
+            rights |= (whiteRooks & Bitboards.bit(0)) != 0 ? WHITE_QUEENSIDE : 0;
+        }
+        if ((getBitboard(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.KING) & Bitboards.bit(60)) != 0) {
+            rights |= (blackRooks & Bitboards.bit(63)) != 0 ? BLACK_KINGSIDE : 0;
+            rights |= (blackRooks & Bitboards.bit(56)) != 0 ? BLACK_QUEENSIDE : 0;
+        }
+        setCastlingRights(rights);
+    }
+
+    /**
+     * @return the square a pawn may capture en passant onto, or {@link Bitboards#NO_SQUARE}
+     */
+    public int getEnPassantSquare() {
+        return ((state >>> EN_PASSANT_SHIFT) & 0x7F) - 1;
+    }
+
+    public void setEnPassantSquare(int enPassantSquare) {
+        state = (state & ~(0x7F << EN_PASSANT_SHIFT)) | ((enPassantSquare + 1) << EN_PASSANT_SHIFT);
+    }
+
+    /**
+     * @return moves since the last capture or pawn move, capped at {@link #MAX_HALFMOVE_CLOCK}
+     */
+    public int getHalfmoveClock() {
+        return state >>> CLOCK_SHIFT;
+    }
+
+    public void setHalfmoveClock(int halfmoveClock) {
+        int clock = Math.max(0, Math.min(halfmoveClock, MAX_HALFMOVE_CLOCK));
+        state = (state & ((1 << CLOCK_SHIFT) - 1)) | (clock << CLOCK_SHIFT);
+    }
+
+    /**
+     * The rule state a position carries beyond its pieces and side to move, packed
+     * into one int so it can be saved and restored with a single store. Castling
+     * rights and the en passant square are part of {@link #getZobristKey}; the
+     * halfmove clock is not, since positions repeat whatever the clock says.
+     *
+     * @return castling rights in bits 0-3, en passant square + 1 in bits 4-10 and
+     * the halfmove clock in bits 11-18
+     */
+    public int getRuleState() {
+        return state;
+    }
+
+    public void setRuleState(int state) {
+        this.state = state;
+    }
+
+    /**
+     * Zobrist key of the whole position: pieces, side to move, castling rights and,
+     * when a pawn can actually capture onto it, the en passant square. Positions
+     * that repeat under the rules of chess share a key.
+     *
+     * @return 64-bit position key, see {@link Zobrist}
+     */
+    public long getZobristKey() {
+        long key = getPieceKey() ^ Zobrist.sideToMove(sideToMove) ^ Zobrist.castling(getCastlingRights());
+        int enPassantSquare = getEnPassantSquare();
+        if (enPassantSquare != Bitboards.NO_SQUARE) {
+            ChessGame.TeamColor victim = sideToMove == ChessGame.TeamColor.WHITE
+                    ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+            long capturers = bitboards[Bitboards.pieceIndex(sideToMove, ChessPiece.PieceType.PAWN)];
+            if ((Attacks.pawnAttacks(victim, enPassantSquare) & capturers) != 0) {
+                key ^= Zobrist.enPassant(enPassantSquare);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return Zobrist key of the piece placement only, consistent with {@link #equals}
+     */
+    public long getPieceKey() {
+        if (pieceKeyStale) {
+            long key = 0L;
+            for (int i = 0; i < bitboards.length; i++) {
+                long pieces = bitboards[i];
+                while (pieces != 0) {
+                    key ^= Zobrist.piece(i, Long.numberOfTrailingZeros(pieces));
+                    pieces &= pieces - 1;
                 }
             }
+            pieceKey = key;
+            pieceKeyStale = false;
         }
-        return newBoard;
+        return pieceKey;
+    }
+
+    /**
+     * Plays a move on this board in place. The move must come from {@link MoveGenerator}
+     * for this position, since its flags say whether it castles, captures en passant
+     * or opens an en passant square. Side to move and the rule state (castling rights,
+     * en passant square and halfmove clock) are updated, and an undo record is pushed so {@link #unmakeMove} can
+     * restore the position without copying the board.
+     *
+     * @param move a {@link PackedMove}
+     */
+    public void makeMove(int move) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int pieceIndex = pieceIndexAt(from);
+        int capturedSquare = capturedSquare(move);
+        int captured = pieceIndexAt(capturedSquare);
+
+        if (undoCount == undoRecords.length) {
+            undoRecords = Arrays.copyOf(undoRecords, undoCount * 2);
+            undoKeys = Arrays.copyOf(undoKeys, undoCount * 2);
+        }
+        undoKeys[undoCount] = getPieceKey();
+        undoRecords[undoCount++] = (captured + 1) | ((long) state << 4);
+
+        if (captured >= 0) {
+            togglePiece(captured, capturedSquare);
+        }
+        togglePiece(pieceIndex, from);
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+        togglePiece(promotion == null ? pieceIndex
+                : Bitboards.pieceIndex(Bitboards.colorOf(pieceIndex), promotion), to);
+        if (PackedMove.has(move, PackedMove.CASTLE)) {
+            moveCastlingRook(pieceIndex, to);
+        }
+
+        boolean irreversible = captured >= 0 || Bitboards.typeOf(pieceIndex) == ChessPiece.PieceType.PAWN;
+        int clock = irreversible ? 0 : Math.min(getHalfmoveClock() + 1, MAX_HALFMOVE_CLOCK);
+        int enPassant = PackedMove.has(move, PackedMove.DOUBLE_PUSH) ? (from + to) >>> 1 : Bitboards.NO_SQUARE;
+        state = (getCastlingRights() & CASTLING_KEPT[from] & CASTLING_KEPT[to])
+                | ((enPassant + 1) << EN_PASSANT_SHIFT) | (clock << CLOCK_SHIFT);
+        sideToMove = sideToMove == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    /**
+     * Takes back the last move played with {@link #makeMove}
+     *
+     * @param move the same packed move that was passed to makeMove
+     */
+    public void unmakeMove(int move) {
+        long record = undoRecords[--undoCount];
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int moved = pieceIndexAt(to);
+        int pieceIndex = PackedMove.isPromotion(move)
+                ? Bitboards.pieceIndex(Bitboards.colorOf(moved), ChessPiece.PieceType.PAWN) : moved;
+
+        if (PackedMove.has(move, PackedMove.CASTLE)) {
+            flipCastlingRook(pieceIndex, to);
+        }
+        flipPiece(moved, to);
+        flipPiece(pieceIndex, from);
+        int captured = (int) (record & 0xF) - 1;
+        if (captured >= 0) {
+            flipPiece(captured, capturedSquare(move));
+        }
+
+        pieceKey = undoKeys[undoCount];
+        state = (int) (record >>> 4);
+        sideToMove = sideToMove == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+
+    private static int capturedSquare(int move) {
+        int to = PackedMove.to(move);
+        if (PackedMove.has(move, PackedMove.EN_PASSANT)) {
+            //the captured pawn sits beside the moving pawn, on the row it started from
+            return (PackedMove.from(move) & ~7) | (to & 7);
+        }
+        return to;
+    }
+
+    /**
+     * Moves the rook for a castling king that has landed on {@code kingTo}, or moves it back
+     */
+    private void moveCastlingRook(int kingIndex, int kingTo) {
+        int rookIndex = Bitboards.pieceIndex(Bitboards.colorOf(kingIndex), ChessPiece.PieceType.ROOK);
+        boolean kingside = (kingTo & 7) == 6;
+        togglePiece(rookIndex, kingside ? kingTo + 1 : kingTo - 2);
+        togglePiece(rookIndex, kingside ? kingTo - 1 : kingTo + 1);
+    }
+
+    private void flipCastlingRook(int kingIndex, int kingTo) {
+        int rookIndex = Bitboards.pieceIndex(Bitboards.colorOf(kingIndex), ChessPiece.PieceType.ROOK);
+        boolean kingside = (kingTo & 7) == 6;
+        flipPiece(rookIndex, kingside ? kingTo + 1 : kingTo - 2);
+        flipPiece(rookIndex, kingside ? kingTo - 1 : kingTo + 1);
+    }
+
+    /**
+     * Adds or removes a piece and folds it into the piece key
+     */
+    private void togglePiece(int pieceIndex, int square) {
+        flipPiece(pieceIndex, square);
+        pieceKey ^= Zobrist.piece(pieceIndex, square);
+    }
+
+    /**
+     * Adds or removes a piece without touching the key, for unmakeMove which restores the key itself
+     */
+    private void flipPiece(int pieceIndex, int square) {
+        long bit = Bitboards.bit(square);
+        bitboards[pieceIndex] ^= bit;
+        occupancy[pieceIndex < 6 ? 0 : 1] ^= bit;
+    }
+
+    /**
+     * Determines if any piece of a color attacks a square. Works outward from the
+     * square: a knight of {@code byColor} attacks it exactly when a knight on the
+     * square would attack that knight, and likewise for the other pieces.
+     *
+     * @param square the square index to test, see {@link Bitboards#square}
+     * @param byColor the attacking team
+     * @return True if a piece of {@code byColor} attacks the square
+     */
+    public boolean isSquareAttacked(int square, ChessGame.TeamColor byColor) {
+        return attackersOf(square, byColor, getOccupancy()) != 0;
+    }
+
+    public boolean isSquareAttacked(ChessPosition position, ChessGame.TeamColor byColor) {
+        return isSquareAttacked(Bitboards.square(position), byColor);
     }
+
+    /**
+     * Finds the pieces of a color attacking a square as if only the squares in
+     * {@code occupied} held pieces. Pieces missing from {@code occupied} neither
+     * block nor attack, which lets callers test a position a move would produce
+     * without making it.
+     *
+     * @return mask of the attacking pieces
+     */
+    long attackersOf(int square, ChessGame.TeamColor byColor, long occupied) {
+        int base = byColor.ordinal() * 6;
+        long queens = bitboards[base + ChessPiece.PieceType.QUEEN.ordinal()];
+        long diagonal = queens | bitboards[base + ChessPiece.PieceType.BISHOP.ordinal()];
+        long straight = queens | bitboards[base + ChessPiece.PieceType.ROOK.ordinal()];
+        ChessGame.TeamColor defender = byColor == ChessGame.TeamColor.WHITE
+                ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+        long attackers = (Attacks.knightAttacks(square) & bitboards[base + ChessPiece.PieceType.KNIGHT.ordinal()])
+                | (Attacks.kingAttacks(square) & bitboards[base + ChessPiece.PieceType.KING.ordinal()])
+                | (Attacks.pawnAttacks(defender, square) & bitboards[base + ChessPiece.PieceType.PAWN.ordinal()])
+                | (Attacks.bishopAttacks(square, occupied) & diagonal)
+                | (Attacks.rookAttacks(square, occupied) & straight);
+        return attackers & occupied;
+    }
+
+    /**
+     * @return the bitboard index of the piece on a square, or -1 if it is empty
+     */
+    int pieceIndexAt(int square) {
+        long bit = Bitboards.bit(square);
+        int first;
+        if ((occupancy[0] & bit) != 0) {
+            first = 0;
+        } else if ((occupancy[1] & bit) != 0) {
+            first = 6;
+        } else {
+            return -1;
+        }
+        for (int i = first; i < first + 6; i++) {
+            if ((bitboards[i] & bit) != 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    long getBitboard(int pieceIndex) {
+        return bitboards[pieceIndex];
+    }
+
+    /**
+     * Puts a piece on an empty square
+     */
+    void setPiece(int square, int pieceIndex) {
+        if ((getOccupancy() & Bitboards.bit(square)) == 0) {
+            togglePiece(pieceIndex, square);
+        }
+    }
+
+    void clearSquare(int square) {
+        int index = pieceIndexAt(square);
+        if (index >= 0) {
+            togglePiece(index, square);
+        }
+    }
+
     private void resetFrontRanks(){
         for (int c=1;c<=8;c++){
-            addPiece(new ChessPosition(2,c),new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
-            addPiece(new ChessPosition(7,c),new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(2,c),new ChessPiece(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN));
+            addPiece(ChessPosition.of(7,c),new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.PAWN));
         }
     }
 
@@ -78,16 +493,20 @@ public class ChessBoard {
         int row;
         if(color == ChessGame.TeamColor.WHITE){row = 1;}
         else{row = 8;}
-        addPiece(new ChessPosition(row,1),new ChessPiece(color, ChessPiece.PieceType.ROOK));
-        addPiece(new ChessPosition(row,2),new ChessPiece(color, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(row,3),new ChessPiece(color, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(row,4),new ChessPiece(color, ChessPiece.PieceType.QUEEN));
-        addPiece(new ChessPosition(row,5),new ChessPiece(color, ChessPiece.PieceType.KING));
-        addPiece(new ChessPosition(row,6),new ChessPiece(color, ChessPiece.PieceType.BISHOP));
-        addPiece(new ChessPosition(row,7),new ChessPiece(color, ChessPiece.PieceType.KNIGHT));
-        addPiece(new ChessPosition(row,8),new ChessPiece(color, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(row,1),new ChessPiece(color, ChessPiece.PieceType.ROOK));
+        addPiece(ChessPosition.of(row,2),new ChessPiece(color, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(row,3),new ChessPiece(color, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(row,4),new ChessPiece(color, ChessPiece.PieceType.QUEEN));
+        addPiece(ChessPosition.of(row,5),new ChessPiece(color, ChessPiece.PieceType.KING));
+        addPiece(ChessPosition.of(row,6),new ChessPiece(color, ChessPiece.PieceType.BISHOP));
+        addPiece(ChessPosition.of(row,7),new ChessPiece(color, ChessPiece.PieceType.KNIGHT));
+        addPiece(ChessPosition.of(row,8),new ChessPiece(color, ChessPiece.PieceType.ROOK));
     }
 
+    /**
+     * Two boards are equal when they hold the same pieces on the same squares;
+     * side to move and the rule state are compared by the game.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -97,18 +516,37 @@ public class ChessBoard {
             return false;
         }
         ChessBoard that = (ChessBoard) o;
-        return Arrays.deepEquals(board, that.board);
+        return Arrays.equals(bitboards, that.bitboards);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(board);
+        return Long.hashCode(getPieceKey());
     }
 
     @Override
     public String toString() {
-        return "ChessBoard{" +
-                "board=" + Arrays.toString(board) +
-                '}';
+        StringBuilder text = new StringBuilder();
+        for (int r = 8; r >= 1; r--) {
+            text.append('|');
+            for (int c = 1; c <= 8; c++) {
+                int index = pieceIndexAt(Bitboards.square(r, c));
+                text.append(index < 0 ? ' ' : pieceChar(index)).append('|');
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    private static char pieceChar(int pieceIndex) {
+        char c = switch (Bitboards.typeOf(pieceIndex)) {
+            case KING -> 'k';
+            case QUEEN -> 'q';
+            case BISHOP -> 'b';
+            case KNIGHT -> 'n';
+            case ROOK -> 'r';
+            case PAWN -> 'p';
+        };
+        return Bitboards.colorOf(pieceIndex) == ChessGame.TeamColor.WHITE ? Character.toUpperCase(c) : c;
     }
 }
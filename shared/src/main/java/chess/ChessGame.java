@@ -1,6 +1,7 @@
 package chess;
 
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -13,12 +14,48 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessGame {
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapterFactory(new LegacyBoardAdapterFactory()).create();
+    /**
+     * Plies without a capture or pawn move after which the game is drawn
+     */
+    public static final int FIFTY_MOVE_PLIES = 100;
+    //a power of two above FIFTY_MOVE_PLIES, since older positions can never repeat in a game still going
+    static final int KEY_HISTORY = 128;
+
     private TeamColor teamTurn = TeamColor.WHITE;
     private ChessBoard board;
+    //moves played by both sides since the game was created
+    private int moveCount;
+    //where the game stands for the side to move, worked out once per position
+    private Status status = Status.IN_PLAY;
+    //the position status belongs to, so changes made straight to the board are noticed
+    private transient long statusKey;
+    private transient int statusRuleState;
+    //scratch space for move generation, reused by every call
+    private final transient int[] moveBuffer = new int[MoveGenerator.MAX_PIECE_MOVES];
+    //Zobrist keys of earlier positions, a ring indexed by the ply they were reached at
+    private final transient long[] keyHistory = new long[KEY_HISTORY];
+    //how many of the latest plies keyHistory holds keys for
+    private transient int historyLength;
+    //earlier occurrences of the current position, counted after every move
+    private transient int repetitions;
 
     public ChessGame() {
         board = new ChessBoard();
         board.resetBoard();
+        //nothing to work out in the starting position
+        markStatus(Status.IN_PLAY);
+    }
+
+    ChessGame(ChessBoard board, TeamColor teamTurn) {
+        this(board, teamTurn, 0);
+    }
+
+    ChessGame(ChessBoard board, TeamColor teamTurn, int moveCount) {
+        this.board = board;
+        this.moveCount = moveCount;
+        setTeamTurn(teamTurn);
     }
 
     /**
@@ -35,6 +72,7 @@ public class ChessGame {
      */
     public void setTeamTurn(TeamColor team) {
         this.teamTurn = team;
+        board.setSideToMove(team);
     }
 
     /**
@@ -45,6 +83,25 @@ public class ChessGame {
         BLACK
     }
 
+    /**
+     * Where the game stands for the team whose turn it is
+     */
+    public enum Status {
+        IN_PLAY,
+        CHECK,
+        CHECKMATE,
+        STALEMATE,
+        //threefold repetition, the fifty-move rule or insufficient material
+        DRAW;
+
+        /**
+         * @return whether no more moves can be made
+         */
+        public boolean isOver() {
+            return this == CHECKMATE || this == STALEMATE || this == DRAW;
+        }
+    }
+
 
     //function to switch teamTurn after a move
     public void switchTeamTurn() {
@@ -64,25 +121,26 @@ public class ChessGame {
      */
 
     public Collection<ChessMove> validMoves(ChessPosition startPosition) {
-        if(board.getPiece(startPosition) == null){
+        ChessPiece piece = board.getPiece(startPosition);
+        if (piece == null) {
             return null;
         }
-        Collection<ChessMove> possibleMoves = board.getPiece(startPosition).pieceMoves(board, startPosition);
-        Collection<ChessMove> validMoves = new ArrayList<>();
-
-        for (ChessMove move : possibleMoves) {
-            ChessPiece piece = board.getPiece(startPosition);
-            if (!movePutsInCheck(piece.getTeamColor(), move)) {
-                validMoves.add(move);
-            }
+        int count = legalMovesFrom(startPosition, piece.getTeamColor());
+        Collection<ChessMove> validMoves = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            validMoves.add(PackedMove.toChessMove(moveBuffer[i]));
         }
         return validMoves;
     }
 
-
-    private boolean movePutsInCheck(TeamColor teamColor, ChessMove move) {
-        ChessBoard testBoard = testMove(move);
-        return (isInCheckTester(testBoard, teamColor));
+    /**
+     * Fills moveBuffer with the legal moves of the piece on a square
+     *
+     * @return how many moves were written
+     */
+    private int legalMovesFrom(ChessPosition startPosition, TeamColor color) {
+        long from = Bitboards.bit(Bitboards.square(startPosition));
+        return MoveGenerator.generateLegal(board, color, from, moveBuffer, 0);
     }
 
     /**
@@ -93,36 +151,176 @@ public class ChessGame {
      */
     public void makeMove(ChessMove move) throws InvalidMoveException {
         ChessPosition start = move.getStartPosition();
-        //must move a piece
-        if (board.getPiece(start) != null) {
-            Collection<ChessMove> validMoves = validMoves(start);
+        ChessPiece piece = board.getPiece(start);
+        //must move a piece, and it must be your turn to move
+        if (piece == null || piece.getTeamColor() != teamTurn) {
+            throw new InvalidMoveException();
+        }
 
-            //Must be your turn to move
-            if (board.getPiece(start).getTeamColor() != teamTurn) {
-                throw new InvalidMoveException();
-            }
-            if (validMoves == null || !validMoves.contains(move)) {
-                throw new InvalidMoveException();
+        //move must be valid
+        int requested = PackedMove.fromChessMove(move);
+        int count = legalMovesFrom(start, teamTurn);
+        int matched = PackedMove.NONE;
+        for (int i = 0; i < count && matched == PackedMove.NONE; i++) {
+            if (PackedMove.withoutFlags(moveBuffer[i]) == requested) {
+                matched = moveBuffer[i];
             }
+        }
+        if (matched == PackedMove.NONE) {
+            throw new InvalidMoveException();
+        }
 
-            //move must be valid
-            if (validMoves.contains(move)) {
-                ChessPiece piece = board.getPiece(start);
+        //the generated move carries the flags the board needs to play it
+        long before = board.getZobristKey();
+        board.makeMove(matched);
+        keyHistory[moveCount & (KEY_HISTORY - 1)] = before;
+        historyLength = Math.min(historyLength + 1, KEY_HISTORY);
+        moveCount++;
+        switchTeamTurn();
+        repetitions = countRepetitions();
+        updateStatus();
+    }
 
-                //handles promotions
-                if (move.getPromotionPiece() != null) {
-                    piece = new ChessPiece(getTeamTurn(), move.getPromotionPiece());
-                }
+    /**
+     * Check, checkmate, stalemate and draws are worked out once per position, when a
+     * move is made or the game is built, so reading them after that costs nothing.
+     * A board changed directly or a turn set by hand is noticed and worked out again.
+     *
+     * @return where the game stands for the team whose turn it is
+     */
+    public Status getStatus() {
+        if (statusKey != board.getZobristKey() || statusRuleState != board.getRuleState()) {
+            updateStatus();
+        }
+        return status;
+    }
+
+    private void updateStatus() {
+        boolean inCheck = isInCheck(teamTurn);
+        Status next;
+        if (!MoveGenerator.hasLegalMove(board, teamTurn)) {
+            next = inCheck ? Status.CHECKMATE : Status.STALEMATE;
+        } else if (isDraw()) {
+            next = Status.DRAW;
+        } else {
+            next = inCheck ? Status.CHECK : Status.IN_PLAY;
+        }
+        markStatus(next);
+    }
+
+    /**
+     * Records the status of the current position without working it out, for callers that already know it
+     */
+    void markStatus(Status status) {
+        this.status = status;
+        statusKey = board.getZobristKey();
+        statusRuleState = board.getRuleState();
+    }
 
-                //make the move
-                board.addPiece(start, null);
-                board.addPiece(move.getEndPosition(), piece);
-                switchTeamTurn();
+    /**
+     * Counts earlier occurrences of the current position. Only positions since the
+     * last capture or pawn move can match, and only those with the same side to move,
+     * so this looks at no more than half the halfmove clock's worth of keys.
+     */
+    private int countRepetitions() {
+        long key = board.getZobristKey();
+        int reach = Math.min(board.getHalfmoveClock(), historyLength);
+        int count = 0;
+        //each side needs two moves to return to a position
+        for (int back = 4; back <= reach; back += 2) {
+            if (keyHistory[(moveCount - back) & (KEY_HISTORY - 1)] == key) {
+                count++;
             }
         }
-        else{
-            throw new InvalidMoveException();
+        return count;
+    }
+
+    /**
+     * @return keys of the positions since the last capture or pawn move, oldest first,
+     * not counting the current one
+     */
+    long[] recentKeys() {
+        int length = Math.min(board.getHalfmoveClock(), historyLength);
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = keyHistory[(moveCount - length + i) & (KEY_HISTORY - 1)];
+        }
+        return keys;
+    }
+
+    /**
+     * Restores the keys written by {@link #recentKeys}, so repetitions are still
+     * counted after a game is stored and read back. Call it before the status is read.
+     */
+    void restoreKeys(long[] keys) {
+        int length = Math.min(keys.length, KEY_HISTORY);
+        for (int i = 0; i < length; i++) {
+            keyHistory[(moveCount - length + i) & (KEY_HISTORY - 1)] = keys[keys.length - length + i];
         }
+        historyLength = length;
+        repetitions = countRepetitions();
+    }
+
+    /**
+     * @return how many moves, counting each side's separately, have been made in this game
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return moves made since the last capture or pawn move, for the fifty-move rule
+     */
+    public int getHalfmoveClock() {
+        return board.getHalfmoveClock();
+    }
+
+    /**
+     * @return True if the current position has now occurred three times
+     */
+    public boolean isThreefoldRepetition() {
+        return repetitions >= 2;
+    }
+
+    /**
+     * @return True if fifty moves by each side have passed without a capture or pawn move
+     */
+    public boolean isFiftyMoveRule() {
+        return board.getHalfmoveClock() >= FIFTY_MOVE_PLIES;
+    }
+
+    /**
+     * Determines if neither side has the pieces left to checkmate: bare kings, a
+     * single bishop or knight, or bishops that all stand on squares of one color
+     *
+     * @return True if no sequence of moves can end in checkmate
+     */
+    public boolean hasInsufficientMaterial() {
+        long heavy = 0L;
+        long knights = 0L;
+        long bishops = 0L;
+        for (TeamColor color : TeamColor.values()) {
+            heavy |= board.getBitboard(color, ChessPiece.PieceType.PAWN)
+                    | board.getBitboard(color, ChessPiece.PieceType.ROOK)
+                    | board.getBitboard(color, ChessPiece.PieceType.QUEEN);
+            knights |= board.getBitboard(color, ChessPiece.PieceType.KNIGHT);
+            bishops |= board.getBitboard(color, ChessPiece.PieceType.BISHOP);
+        }
+        if (heavy != 0) {
+            return false;
+        }
+        if (Long.bitCount(knights | bishops) <= 1) {
+            return true;
+        }
+        return knights == 0 && ((bishops & Bitboards.DARK_SQUARES) == 0 || (bishops & ~Bitboards.DARK_SQUARES) == 0);
+    }
+
+    /**
+     * @return True if the game is drawn by repetition, the fifty-move rule or insufficient
+     * material; stalemate is reported by {@link #isInStalemate}
+     */
+    public boolean isDraw() {
+        return isThreefoldRepetition() || isFiftyMoveRule() || hasInsufficientMaterial();
     }
 
     /**
@@ -132,61 +330,54 @@ public class ChessGame {
      * @return True if the specified team is in check
      */
     public boolean isInCheck(TeamColor teamColor) {
-        return isInCheckTester(board, teamColor);
+        int king = Bitboards.firstSquare(board.getBitboard(teamColor, ChessPiece.PieceType.KING));
+        return king != Bitboards.NO_SQUARE && board.isSquareAttacked(king, MoveGenerator.opponent(teamColor));
     }
 
-    private Boolean isInCheckTester(ChessBoard testboard, TeamColor myColor) {
-        ChessGame.TeamColor opponentColor;
-        if (myColor == TeamColor.WHITE) {
-            opponentColor = TeamColor.BLACK;
-        } else {
-            opponentColor = TeamColor.WHITE;
-        }
-
-        Collection<ChessMove> opponentMoves = possibleMovesHelper(testboard,opponentColor);
-        for (ChessMove move : opponentMoves) {
-            ChessPosition endPosition = move.getEndPosition();
-            if (testboard.getPiece(endPosition) != null && testboard.getPiece(endPosition).getTeamColor() == myColor &&
-                    testboard.getPiece(endPosition).getPieceType() == ChessPiece.PieceType.KING) {
-                return true;
-            }
-        }
-        return false;
+    /**
+     * @return Zobrist key of the current position, including whose turn it is
+     */
+    public long getZobristKey() {
+        return board.getZobristKey();
     }
 
+    /**
+     * JSON form of the game, for the HTTP API. Storage should use {@link #encode}.
+     */
     public String serialize() {
-        Gson gson = new Gson();
-        return gson.toJson(this);
+        getStatus();
+        return GSON.toJson(this);
     }
 
     public static ChessGame deserialize(String json) {
-        Gson gson = new Gson();
-        return gson.fromJson(json, ChessGame.class);
+        ChessGame game = GSON.fromJson(json, ChessGame.class);
+        //legacy JSON kept the turn on the game only
+        game.setTeamTurn(game.teamTurn);
+        //JSON may be old or hand-written, so only the position is trusted
+        game.updateStatus();
+        return game;
+    }
+
+    /**
+     * @return the compact binary form of the game, see {@link GameStateCodec}
+     */
+    public byte[] encode() {
+        return GameStateCodec.encode(this);
     }
 
+    public static ChessGame decode(byte[] bytes) {
+        return GameStateCodec.decode(bytes);
+    }
 
     /**
-     * The following function defines a possible move as any move that is possible
-     * through the base piece movements in chess. The function iterates each square
-     * on the board (boardSquare is the current location checked) and returns
-     * the a collection of all possible piecemoves for the specified color.
-     **/
-    private Collection<ChessMove> possibleMoves(TeamColor color) {
-        return possibleMovesHelper(board,color);
-    }
-
-    private Collection<ChessMove> possibleMovesHelper(ChessBoard testBoard, TeamColor color){
-        Collection<ChessMove> possibleMoves = new ArrayList<>();
-        for (int r = 1; r <= 8; r++) {
-            for (int c = 1; c <= 8; c++) {
-                ChessPosition boardSquare = new ChessPosition(r, c);
-                if (testBoard.getPiece(boardSquare) != null &&
-                        testBoard.getPiece(boardSquare).getTeamColor() == color) {
-                    possibleMoves.addAll(testBoard.getPiece(boardSquare).pieceMoves(testBoard, boardSquare));
-                }
-            }
-        }
-        return possibleMoves;
+     * @return the position in Forsyth-Edwards Notation
+     */
+    public String toFen() {
+        return Fen.fromGame(this);
+    }
+
+    public static ChessGame fromFen(String fen) {
+        return Fen.toGame(fen);
     }
 
     /**
@@ -196,37 +387,10 @@ public class ChessGame {
      * @return True if the specified team is in checkmate
      */
     public boolean isInCheckmate(TeamColor teamColor) {
-        if (!isInCheck(teamColor)) {
-            return false;
-        }
-        Collection<ChessMove> possibleMoves = possibleMoves(teamColor);
-        for (ChessMove move : possibleMoves) {
-            ChessBoard test = testMove(move);
-            if (!isInCheckTester(test, teamColor)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    private ChessBoard testMove(ChessMove move) {
-        ChessBoard testBoard = board.cloneBoard();
-
-        ChessPosition start = move.getStartPosition();
-        if (testBoard.getPiece(start) != null) {
-            ChessPiece piece = testBoard.getPiece(start);
-            TeamColor pieceColor = piece.getTeamColor();
-            if (piece.getPieceType() == ChessPiece.PieceType.PAWN) {
-                if (piece.getTeamColor() == TeamColor.WHITE && move.getEndPosition().getRow() == 8 ||
-                        piece.getTeamColor() == TeamColor.BLACK && move.getEndPosition().getRow() == 1) {
-                    piece = new ChessPiece(pieceColor, move.getPromotionPiece());
-                }
-            }
-            testBoard.addPiece(move.getEndPosition(), new ChessPiece(pieceColor, piece.getPieceType()));
-            testBoard.addPiece(start, null);
-
+        if (teamColor == teamTurn) {
+            return getStatus() == Status.CHECKMATE;
         }
-        return testBoard;
+        return isInCheck(teamColor) && !MoveGenerator.hasLegalMove(board, teamColor);
     }
 
     /**
@@ -237,25 +401,27 @@ public class ChessGame {
      * @return True if the specified team is in stalemate, otherwise false
      */
     public boolean isInStalemate(TeamColor teamColor) {
-        Collection<ChessMove> possibleMoves = possibleMoves(teamColor);
-        if (isInCheck(teamColor)) {
-            return false;
-        }
-        for (ChessMove move : possibleMoves) {
-            if (!movePutsInCheck(teamColor, move)) {
-                return false;
-            }
+        if (teamColor == teamTurn) {
+            return getStatus() == Status.STALEMATE;
         }
-        return true;
+        return !isInCheck(teamColor) && !MoveGenerator.hasLegalMove(board, teamColor);
     }
 
     /**
-     * Sets this game's chessboard with a given board
+     * Sets this game's chessboard with a given board. A board carries no history,
+     * so castling rights are inferred from where the kings and rooks stand, and
+     * repetitions and the fifty-move rule count from this position.
      *
      * @param board the new board to use
      */
     public void setBoard(ChessBoard board) {
         this.board = board;
+        board.setSideToMove(teamTurn);
+        board.inferCastlingRights();
+        board.setHalfmoveClock(0);
+        historyLength = 0;
+        repetitions = 0;
+        updateStatus();
     }
 
     /**
@@ -276,12 +442,13 @@ public class ChessGame {
             return false;
         }
         ChessGame chessGame = (ChessGame) o;
-        return teamTurn == chessGame.teamTurn && Objects.equals(board, chessGame.board);
+        return teamTurn == chessGame.teamTurn && Objects.equals(board, chessGame.board)
+                && board.getRuleState() == chessGame.board.getRuleState();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(teamTurn, board);
+        return Objects.hash(teamTurn, board, board.getRuleState());
     }
 
 }
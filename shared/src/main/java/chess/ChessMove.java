@@ -9,6 +9,8 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessMove {
+    //indexed by PackedMove.withoutFlags and filled in the first time each move is asked for
+    private static final ChessMove[] INTERNED = new ChessMove[1 << 15];
 
     public ChessMove(ChessPosition startPosition, ChessPosition endPosition,
                      ChessPiece.PieceType promotionPiece) {
@@ -16,9 +18,41 @@ public class ChessMove {
         end = endPosition;
         promotion = promotionPiece;
     }
-    private ChessPosition start;
-    private ChessPosition end;
-    private ChessPiece.PieceType promotion;
+    private final ChessPosition start;
+    private final ChessPosition end;
+    private final ChessPiece.PieceType promotion;
+
+    /**
+     * Prefer this to the constructor; moves between squares on the board are shared
+     * instead of allocated
+     */
+    public static ChessMove of(ChessPosition startPosition, ChessPosition endPosition,
+                               ChessPiece.PieceType promotionPiece) {
+        if (!onBoard(startPosition) || !onBoard(endPosition)) {
+            return new ChessMove(startPosition, endPosition, promotionPiece);
+        }
+        return interned(PackedMove.encode(Bitboards.square(startPosition), Bitboards.square(endPosition),
+                promotionPiece, PackedMove.NONE));
+    }
+
+    /**
+     * @param move a {@link PackedMove} without flags
+     */
+    static ChessMove interned(int move) {
+        ChessMove chessMove = INTERNED[move];
+        if (chessMove == null) {
+            //threads racing here may each build one; they are equal and immutable, so either can win
+            chessMove = new ChessMove(ChessPosition.of(PackedMove.from(move)), ChessPosition.of(PackedMove.to(move)),
+                    PackedMove.promotion(move));
+            INTERNED[move] = chessMove;
+        }
+        return chessMove;
+    }
+
+    private static boolean onBoard(ChessPosition position) {
+        return position != null && position.getRow() >= 1 && position.getRow() <= 8
+                && position.getColumn() >= 1 && position.getColumn() <= 8;
+    }
 
     /**
      * @return ChessPosition of starting location
@@ -58,7 +92,8 @@ public class ChessMove {
 
     @Override
     public int hashCode() {
-        return Objects.hash(start, end, promotion);
+        //same value as Objects.hash(start, end, promotion), without the varargs array
+        return 31 * (31 * (31 + Objects.hashCode(start)) + Objects.hashCode(end)) + Objects.hashCode(promotion);
     }
 
     @Override
@@ -1,7 +1,5 @@
 package chess;
 
-import java.util.Objects;
-
 /**
  * Represents a single square position on a chess board
  * <p>
@@ -9,12 +7,40 @@ import java.util.Objects;
  * signature of the existing methods.
  */
 public class ChessPosition {
+    //one shared instance per square, indexed like Bitboards squares
+    private static final ChessPosition[] SQUARES = new ChessPosition[64];
+
+    static {
+        for (int square = 0; square < SQUARES.length; square++) {
+            SQUARES[square] = new ChessPosition(Bitboards.row(square), Bitboards.column(square));
+        }
+    }
 
     public ChessPosition(int row, int col) {
         r = row; c = col;
     }
-    private int r;
-    private int c;
+    private final int r;
+    private final int c;
+
+    /**
+     * Prefer this to the constructor; positions on the board are shared instead of allocated
+     *
+     * @return the shared position for a square on the board, or a new one for a position off it
+     */
+    public static ChessPosition of(int row, int col) {
+        if (row < 1 || row > 8 || col < 1 || col > 8) {
+            return new ChessPosition(row, col);
+        }
+        return SQUARES[(row - 1) * 8 + col - 1];
+    }
+
+    /**
+     * @param square a square index from {@link Bitboards}
+     */
+    static ChessPosition of(int square) {
+        return SQUARES[square];
+    }
+
     /**
      * @return which row this position is in
      * 1 codes for the bottom row
@@ -45,7 +71,8 @@ public class ChessPosition {
 
     @Override
     public int hashCode() {
-        return Objects.hash(r, c);
+        //same value as Objects.hash(r, c), without boxing both ints into an array
+        return 31 * (31 + r) + c;
     }
 
     @Override
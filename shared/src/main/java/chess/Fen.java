@@ -0,0 +1,274 @@
+package chess;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads and writes Forsyth-Edwards Notation, the one-line text form of a position.
+ * <p>
+ * Example: {@code rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1}.
+ * The halfmove clock and move number fields are optional when reading and
+ * default to 0 and 1.
+ */
+public final class Fen {
+    public static final String START = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    private static final String PIECE_CHARS = "KQBNRP";
+
+    private Fen() {
+    }
+
+    /**
+     * Builds a board from a FEN string. The text is scanned in place, so a FEN
+     * can be read straight out of a larger buffer such as a line of a file.
+     *
+     * @throws IllegalArgumentException if the text is not a valid FEN position
+     */
+    public static ChessBoard toBoard(CharSequence fen) {
+        return readBoard(new Cursor(fen));
+    }
+
+    /**
+     * Builds a game whose turn is the FEN's side to move and whose move count
+     * follows from the move number
+     */
+    public static ChessGame toGame(CharSequence fen) {
+        Cursor cursor = new Cursor(fen);
+        ChessBoard board = readBoard(cursor);
+        int moveNumber = cursor.hasField() ? readNumber(cursor.field()) : 1;
+        int moveCount = Math.max(0, moveNumber - 1) * 2 + (board.getSideToMove() == ChessGame.TeamColor.BLACK ? 1 : 0);
+        return new ChessGame(board, board.getSideToMove(), moveCount);
+    }
+
+    private static ChessBoard readBoard(Cursor cursor) {
+        ChessBoard board = new ChessBoard();
+        readPlacement(cursor.field(), board);
+        CharSequence side = cursor.field();
+        board.setSideToMove(switch (side.length() == 1 ? side.charAt(0) : '?') {
+            case 'w' -> ChessGame.TeamColor.WHITE;
+            case 'b' -> ChessGame.TeamColor.BLACK;
+            default -> throw new IllegalArgumentException("Bad side to move: " + side);
+        });
+        board.setCastlingRights(readCastling(cursor.field()));
+        CharSequence enPassant = cursor.field();
+        board.setEnPassantSquare(isDash(enPassant) ? Bitboards.NO_SQUARE : readSquare(enPassant));
+        if (cursor.hasField()) {
+            board.setHalfmoveClock(readNumber(cursor.field()));
+        }
+        return board;
+    }
+
+    /**
+     * Writes the position of a board with its halfmove clock; a board does not know
+     * the move number, so that is written as 1
+     */
+    public static String fromBoard(ChessBoard board) {
+        return format(board, 1);
+    }
+
+    public static String fromGame(ChessGame game) {
+        return format(game.getBoard(), game.getMoveCount() / 2 + 1);
+    }
+
+    private static String format(ChessBoard board, int moveNumber) {
+        StringBuilder fen = new StringBuilder(90);
+        try {
+            write(board, moveNumber, fen);
+        } catch (IOException e) {
+            //StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return fen.toString();
+    }
+
+    /**
+     * Writes the position of a board straight to a writer or buffer
+     */
+    public static void write(ChessBoard board, Appendable out) throws IOException {
+        write(board, 1, out);
+    }
+
+    static void write(ChessBoard board, int moveNumber, Appendable out) throws IOException {
+        for (int row = 7; row >= 0; row--) {
+            int empty = 0;
+            for (int column = 0; column < 8; column++) {
+                int index = board.pieceIndexAt(row * 8 + column);
+                if (index < 0) {
+                    empty++;
+                    continue;
+                }
+                if (empty > 0) {
+                    out.append((char) ('0' + empty));
+                    empty = 0;
+                }
+                out.append(pieceChar(index));
+            }
+            if (empty > 0) {
+                out.append((char) ('0' + empty));
+            }
+            if (row > 0) {
+                out.append('/');
+            }
+        }
+        out.append(board.getSideToMove() == ChessGame.TeamColor.WHITE ? " w " : " b ");
+        appendCastling(board.getCastlingRights(), out);
+        out.append(' ');
+        int enPassant = board.getEnPassantSquare();
+        if (enPassant == Bitboards.NO_SQUARE) {
+            out.append('-');
+        } else {
+            appendSquare(enPassant, out);
+        }
+        out.append(' ').append(Integer.toString(board.getHalfmoveClock()))
+                .append(' ').append(Integer.toString(moveNumber));
+    }
+
+    /**
+     * @return a square in algebraic form such as {@code e4}
+     */
+    public static String squareName(int square) {
+        return String.valueOf((char) ('a' + (square & 7))) + (char) ('1' + (square >>> 3));
+    }
+
+    static void appendSquare(int square, Appendable text) throws IOException {
+        text.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+
+    static void appendSquare(int square, StringBuilder text) {
+        text.append((char) ('a' + (square & 7))).append((char) ('1' + (square >>> 3)));
+    }
+
+    /**
+     * @return the square index of an algebraic square such as {@code e4}
+     */
+    public static int readSquare(CharSequence name) {
+        if (name.length() != 2) {
+            throw new IllegalArgumentException("Bad square: " + name);
+        }
+        int column = name.charAt(0) - 'a' + 1;
+        int row = name.charAt(1) - '0';
+        try {
+            return Bitboards.square(row, column);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Bad square: " + name, e);
+        }
+    }
+
+    private static void readPlacement(CharSequence placement, ChessBoard board) {
+        int row = 7;
+        int column = 0;
+        for (int i = 0; i < placement.length(); i++) {
+            char c = placement.charAt(i);
+            if (c == '/') {
+                row--;
+                column = 0;
+            } else if (c >= '1' && c <= '8') {
+                column += c - '0';
+            } else {
+                int type = PIECE_CHARS.indexOf(Character.toUpperCase(c));
+                if (type < 0 || row < 0 || column > 7) {
+                    throw new IllegalArgumentException("Bad piece placement: " + placement);
+                }
+                int color = Character.isUpperCase(c) ? 0 : 1;
+                board.setPiece(row * 8 + column, color * 6 + type);
+                column++;
+            }
+        }
+        if (row != 0) {
+            throw new IllegalArgumentException("Piece placement needs 8 rows: " + placement);
+        }
+    }
+
+    private static int readCastling(CharSequence castling) {
+        if (isDash(castling)) {
+            return 0;
+        }
+        int rights = 0;
+        for (int i = 0; i < castling.length(); i++) {
+            rights |= switch (castling.charAt(i)) {
+                case 'K' -> ChessBoard.WHITE_KINGSIDE;
+                case 'Q' -> ChessBoard.WHITE_QUEENSIDE;
+                case 'k' -> ChessBoard.BLACK_KINGSIDE;
+                case 'q' -> ChessBoard.BLACK_QUEENSIDE;
+                default -> throw new IllegalArgumentException("Bad castling rights: " + castling);
+            };
+        }
+        return rights;
+    }
+
+    private static int readNumber(CharSequence field) {
+        int value = 0;
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c < '0' || c > '9' || value > 100_000) {
+                throw new IllegalArgumentException("Bad move counter: " + field);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDash(CharSequence field) {
+        return field.length() == 1 && field.charAt(0) == '-';
+    }
+
+    private static void appendCastling(int rights, Appendable fen) throws IOException {
+        if (rights == 0) {
+            fen.append('-');
+            return;
+        }
+        if ((rights & ChessBoard.WHITE_KINGSIDE) != 0) {
+            fen.append('K');
+        }
+        if ((rights & ChessBoard.WHITE_QUEENSIDE) != 0) {
+            fen.append('Q');
+        }
+        if ((rights & ChessBoard.BLACK_KINGSIDE) != 0) {
+            fen.append('k');
+        }
+        if ((rights & ChessBoard.BLACK_QUEENSIDE) != 0) {
+            fen.append('q');
+        }
+    }
+
+    private static char pieceChar(int pieceIndex) {
+        char c = PIECE_CHARS.charAt(pieceIndex % 6);
+        return pieceIndex < 6 ? c : Character.toLowerCase(c);
+    }
+
+    /**
+     * Hands out the whitespace separated fields of a FEN as views of the original text
+     */
+    private static final class Cursor {
+        private final CharSequence text;
+        private int position;
+
+        Cursor(CharSequence text) {
+            this.text = text;
+        }
+
+        boolean hasField() {
+            skipWhitespace();
+            return position < text.length();
+        }
+
+        CharSequence field() {
+            skipWhitespace();
+            int start = position;
+            while (position < text.length() && !Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw new IllegalArgumentException(
+                        "FEN needs placement, side, castling and en passant fields: " + text);
+            }
+            return text.subSequence(start, position);
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+    }
+}
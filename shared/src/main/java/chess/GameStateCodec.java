@@ -0,0 +1,141 @@
+package chess;
+
+/**
+ * Packs a game into a small, versioned byte array for storage.
+ * <p>
+ * Version 5 layout, 41 bytes plus 8 for each remembered position:
+ * <pre>
+ * 0-1   magic 0xC4 'G', which no JSON text starts with
+ * 2     format version
+ * 3     bit 0 side to move (1 = black), bits 1-4 castling rights,
+ *       bits 5-7 {@link ChessGame.Status} ordinal + 1
+ * 4     en passant square, or 0xFF for none
+ * 5-36  board, one nibble per square from a1 to h8, low nibble first:
+ *       0 for empty, otherwise the piece's bitboard index + 1
+ * 37-38 moves played, big-endian, capped at 65535
+ * 39    halfmove clock
+ * 40    number of remembered positions, at most the halfmove clock
+ * 41-   their Zobrist keys, big-endian, oldest first, for repetition checks
+ * </pre>
+ * Version 4 did not store the status, version 3 stopped after the halfmove clock,
+ * version 2 after the move count and version 1 after the board; whatever they
+ * lack decodes as 0 or empty, and their status is worked out when first read.
+ */
+public final class GameStateCodec {
+    public static final int VERSION = 5;
+    /**
+     * Length of a game that remembers no earlier positions, such as a new one
+     */
+    public static final int LENGTH = 41;
+
+    private static final byte MAGIC_0 = (byte) 0xC4;
+    private static final byte MAGIC_1 = 'G';
+    private static final int BOARD_OFFSET = 5;
+    private static final int MOVE_COUNT_OFFSET = 37;
+    private static final int CLOCK_OFFSET = 39;
+    private static final int KEY_COUNT_OFFSET = 40;
+    private static final int[] VERSION_LENGTHS = {0, 37, 39, 40, LENGTH, LENGTH};
+    private static final ChessGame.Status[] STATUSES = ChessGame.Status.values();
+    private static final int NO_EN_PASSANT = 0xFF;
+
+    private GameStateCodec() {
+    }
+
+    public static byte[] encode(ChessGame game) {
+        ChessBoard board = game.getBoard();
+        long[] keys = game.recentKeys();
+        byte[] bytes = new byte[LENGTH + keys.length * Long.BYTES];
+        bytes[0] = MAGIC_0;
+        bytes[1] = MAGIC_1;
+        bytes[2] = VERSION;
+        int side = game.getTeamTurn() == ChessGame.TeamColor.BLACK ? 1 : 0;
+        int status = game.getStatus().ordinal() + 1;
+        bytes[3] = (byte) (side | board.getCastlingRights() << 1 | status << 5);
+        int enPassant = board.getEnPassantSquare();
+        bytes[4] = (byte) (enPassant == Bitboards.NO_SQUARE ? NO_EN_PASSANT : enPassant);
+
+        long occupied = board.getOccupancy();
+        while (occupied != 0) {
+            int square = Long.numberOfTrailingZeros(occupied);
+            occupied &= occupied - 1;
+            int nibble = board.pieceIndexAt(square) + 1;
+            bytes[BOARD_OFFSET + (square >>> 1)] |= (byte) ((square & 1) == 0 ? nibble : nibble << 4);
+        }
+        int moveCount = Math.min(game.getMoveCount(), 0xFFFF);
+        bytes[MOVE_COUNT_OFFSET] = (byte) (moveCount >>> 8);
+        bytes[MOVE_COUNT_OFFSET + 1] = (byte) moveCount;
+        bytes[CLOCK_OFFSET] = (byte) board.getHalfmoveClock();
+        bytes[KEY_COUNT_OFFSET] = (byte) keys.length;
+        for (int i = 0; i < keys.length; i++) {
+            for (int b = 0; b < Long.BYTES; b++) {
+                bytes[LENGTH + i * Long.BYTES + b] = (byte) (keys[i] >>> (56 - 8 * b));
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not an encoded game of a known version
+     */
+    public static ChessGame decode(byte[] bytes) {
+        if (!isEncoded(bytes)) {
+            throw new IllegalArgumentException("Not an encoded chess game");
+        }
+        int version = bytes[2];
+        if (version < 1 || version > VERSION || bytes.length < VERSION_LENGTHS[version]) {
+            throw new IllegalArgumentException("Unsupported game state version " + version);
+        }
+        ChessBoard board = new ChessBoard();
+        for (int square = 0; square < 64; square++) {
+            int packed = bytes[BOARD_OFFSET + (square >>> 1)];
+            int nibble = (square & 1) == 0 ? packed & 0xF : (packed >>> 4) & 0xF;
+            if (nibble > 12) {
+                throw new IllegalArgumentException("Bad piece code " + nibble + " on square " + square);
+            }
+            if (nibble != 0) {
+                board.setPiece(square, nibble - 1);
+            }
+        }
+        ChessGame.TeamColor turn = (bytes[3] & 1) == 0 ? ChessGame.TeamColor.WHITE : ChessGame.TeamColor.BLACK;
+        board.setCastlingRights((bytes[3] >>> 1) & ChessBoard.ALL_CASTLING);
+        int enPassant = bytes[4] & 0xFF;
+        if (enPassant > 63 && enPassant != NO_EN_PASSANT) {
+            throw new IllegalArgumentException("Bad en passant square " + enPassant);
+        }
+        board.setEnPassantSquare(enPassant == NO_EN_PASSANT ? Bitboards.NO_SQUARE : enPassant);
+        int moveCount = version < 2 ? 0
+                : (bytes[MOVE_COUNT_OFFSET] & 0xFF) << 8 | bytes[MOVE_COUNT_OFFSET + 1] & 0xFF;
+        board.setHalfmoveClock(version < 3 ? 0 : bytes[CLOCK_OFFSET] & 0xFF);
+        ChessGame game = new ChessGame(board, turn, moveCount);
+        if (version >= 4) {
+            game.restoreKeys(readKeys(bytes));
+        }
+        int status = (bytes[3] >>> 5) & 0x7;
+        if (version >= 5 && status >= 1 && status <= STATUSES.length) {
+            game.markStatus(STATUSES[status - 1]);
+        }
+        return game;
+    }
+
+    private static long[] readKeys(byte[] bytes) {
+        long[] keys = new long[bytes[KEY_COUNT_OFFSET] & 0xFF];
+        if (bytes.length < LENGTH + keys.length * Long.BYTES) {
+            throw new IllegalArgumentException("Encoded game is missing " + keys.length + " position keys");
+        }
+        for (int i = 0; i < keys.length; i++) {
+            long key = 0L;
+            for (int b = 0; b < Long.BYTES; b++) {
+                key = key << 8 | bytes[LENGTH + i * Long.BYTES + b] & 0xFF;
+            }
+            keys[i] = key;
+        }
+        return keys;
+    }
+
+    /**
+     * @return True if the bytes start with the codec's magic number, as opposed to legacy JSON text
+     */
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length >= 3 && bytes[0] == MAGIC_0 && bytes[1] == MAGIC_1;
+    }
+}
@@ -0,0 +1,80 @@
+package chess;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Reads boards saved before ChessBoard moved to bitboards, whose JSON holds an 8x8
+ * {@code board} grid of pieces indexed [row - 1][column - 1]. Boards in the current
+ * shape are read and written as usual.
+ */
+final class LegacyBoardAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != ChessBoard.class) {
+            return null;
+        }
+        TypeAdapter<ChessBoard> delegate = gson.getDelegateAdapter(this, TypeToken.get(ChessBoard.class));
+        TypeAdapter<JsonElement> elements = gson.getAdapter(JsonElement.class);
+        return (TypeAdapter<T>) new TypeAdapter<ChessBoard>() {
+            @Override
+            public void write(JsonWriter out, ChessBoard board) throws IOException {
+                delegate.write(out, board);
+            }
+
+            @Override
+            public ChessBoard read(JsonReader in) throws IOException {
+                JsonElement tree = elements.read(in);
+                if (tree != null && tree.isJsonObject() && tree.getAsJsonObject().has("board")) {
+                    return readGrid(tree.getAsJsonObject().get("board"));
+                }
+                return delegate.fromJsonTree(tree);
+            }
+        };
+    }
+
+    private static ChessBoard readGrid(JsonElement grid) {
+        if (!grid.isJsonArray() || grid.getAsJsonArray().size() != 8) {
+            throw new JsonParseException("Legacy board needs 8 rows: " + grid);
+        }
+        ChessBoard board = new ChessBoard();
+        JsonArray rows = grid.getAsJsonArray();
+        for (int r = 0; r < 8; r++) {
+            JsonElement row = rows.get(r);
+            if (!row.isJsonArray() || row.getAsJsonArray().size() != 8) {
+                throw new JsonParseException("Legacy board row " + (r + 1) + " needs 8 squares: " + row);
+            }
+            for (int c = 0; c < 8; c++) {
+                JsonElement cell = row.getAsJsonArray().get(c);
+                if (!cell.isJsonNull()) {
+                    board.setPiece(Bitboards.square(r + 1, c + 1), pieceIndex(cell));
+                }
+            }
+        }
+        //the old board kept no history, so castling rights come from the pieces
+        board.inferCastlingRights();
+        return board;
+    }
+
+    private static int pieceIndex(JsonElement cell) {
+        try {
+            JsonObject piece = cell.getAsJsonObject();
+            return Bitboards.pieceIndex(ChessGame.TeamColor.valueOf(piece.get("color").getAsString()),
+                    ChessPiece.PieceType.valueOf(piece.get("type").getAsString()));
+        } catch (RuntimeException e) {
+            throw new JsonParseException("Bad legacy piece: " + cell, e);
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package chess;
+
+/**
+ * Generates moves as {@link PackedMove} ints into caller-supplied buffers,
+ * so generating moves does not allocate.
+ * <p>
+ * Each method writes moves starting at {@code count} and returns the new
+ * count, which lets callers append several generations into one buffer.
+ */
+public final class MoveGenerator {
+    /**
+     * Enough room for every pseudo-legal move of one piece
+     */
+    public static final int MAX_PIECE_MOVES = 32;
+    /**
+     * Enough room for every move of one side in any position reachable in a game
+     */
+    public static final int MAX_MOVES = 256;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+    private static final ChessPiece.PieceType[] PROMOTIONS = {
+            ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+            ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT
+    };
+
+    private static final int E1 = 4;
+    private static final int E8 = 60;
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Generates the basic moves of a piece standing on a square: every move allowed by
+     * how the piece moves, without castling, en passant, or checking whether the move
+     * leaves its king in danger.
+     *
+     * @param pieceIndex the piece to move, as a {@link Bitboards#pieceIndex} value
+     */
+    public static int generatePieceMoves(ChessBoard board, int pieceIndex, int from, int[] moves, int count) {
+        ChessGame.TeamColor color = Bitboards.colorOf(pieceIndex);
+        long own = board.getOccupancy(color);
+        long enemy = board.getOccupancy(opponent(color));
+        ChessPiece.PieceType type = Bitboards.typeOf(pieceIndex);
+        if (type == ChessPiece.PieceType.PAWN) {
+            return addPawnMoves(color, from, pawnTargets(color, from, own | enemy, enemy), enemy, moves, count);
+        }
+        long targets = Attacks.attacks(type, from, own | enemy) & ~own;
+        return addMoves(from, targets, enemy, moves, count);
+    }
+
+    /**
+     * Generates every move of one color without checking whether it leaves the
+     * king in danger, including castling and en passant captures allowed by the
+     * board's castling rights and en passant square.
+     */
+    public static int generatePseudoLegal(ChessBoard board, ChessGame.TeamColor color, int[] moves) {
+        int count = 0;
+        for (ChessPiece.PieceType type : TYPES) {
+            int pieceIndex = Bitboards.pieceIndex(color, type);
+            long pieces = board.getBitboard(pieceIndex);
+            while (pieces != 0) {
+                int from = Long.numberOfTrailingZeros(pieces);
+                pieces &= pieces - 1;
+                count = generatePieceMoves(board, pieceIndex, from, moves, count);
+            }
+        }
+        count = addEnPassant(board, color, -1L, Bitboards.NO_SQUARE, moves, count);
+        return addCastling(board, color, false, moves, count);
+    }
+
+    /**
+     * Generates the legal moves of the pieces of one color standing on {@code fromMask}.
+     * <p>
+     * Legality comes from the king's point of view instead of trying each move: pieces
+     * pinned to the king may only move along the pin, and while in check every move
+     * must capture the checker or block its line (a check mask). Only king moves
+     * and en passant captures need an attack test on the resulting squares.
+     */
+    public static int generateLegal(ChessBoard board, ChessGame.TeamColor color, long fromMask,
+                                    int[] moves, int count) {
+        ChessGame.TeamColor enemy = opponent(color);
+        long own = board.getOccupancy(color);
+        long enemyPieces = board.getOccupancy(enemy);
+        int king = Bitboards.firstSquare(board.getBitboard(color, ChessPiece.PieceType.KING));
+        long checkers = king == Bitboards.NO_SQUARE ? 0L : board.attackersOf(king, enemy, own | enemyPieces);
+        long checkMask = checkMask(king, checkers);
+        long pinned = pinnedPieces(board, color, king);
+
+        long pieces = own & fromMask;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            int pieceIndex = board.pieceIndexAt(from);
+            long targets = legalTargets(board, pieceIndex, from, king, checkMask, pinned);
+            if (Bitboards.typeOf(pieceIndex) == ChessPiece.PieceType.PAWN) {
+                count = addPawnMoves(color, from, targets, enemyPieces, moves, count);
+            } else {
+                count = addMoves(from, targets, enemyPieces, moves, count);
+            }
+        }
+        count = addEnPassant(board, color, fromMask, king, moves, count);
+        if (king != Bitboards.NO_SQUARE && (fromMask & Bitboards.bit(king)) != 0 && checkers == 0) {
+            count = addCastling(board, color, true, moves, count);
+        }
+        return count;
+    }
+
+    /**
+     * @return True if the given color has at least one legal move
+     */
+    public static boolean hasLegalMove(ChessBoard board, ChessGame.TeamColor color) {
+        ChessGame.TeamColor enemy = opponent(color);
+        long own = board.getOccupancy(color);
+        int king = Bitboards.firstSquare(board.getBitboard(color, ChessPiece.PieceType.KING));
+        long checkers = king == Bitboards.NO_SQUARE ? 0L : board.attackersOf(king, enemy, board.getOccupancy());
+        long checkMask = checkMask(king, checkers);
+        long pinned = pinnedPieces(board, color, king);
+
+        long pieces = own;
+        while (pieces != 0) {
+            int from = Long.numberOfTrailingZeros(pieces);
+            pieces &= pieces - 1;
+            if (legalTargets(board, board.pieceIndexAt(from), from, king, checkMask, pinned) != 0) {
+                return true;
+            }
+        }
+        //castling is never the only legal move, since the king could step onto the square it passes
+        return addEnPassant(board, color, -1L, king, null, 0) > 0;
+    }
+
+    private static long legalTargets(ChessBoard board, int pieceIndex, int from, int king,
+                                     long checkMask, long pinned) {
+        ChessGame.TeamColor color = Bitboards.colorOf(pieceIndex);
+        long own = board.getOccupancy(color);
+        long occupied = board.getOccupancy();
+        if (from == king) {
+            //the king may not step anywhere attacked, including along a line it currently blocks
+            long targets = Attacks.kingAttacks(king) & ~own;
+            long withoutKing = occupied ^ Bitboards.bit(king);
+            long safe = 0L;
+            while (targets != 0) {
+                int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                if (board.attackersOf(to, opponent(color), withoutKing) == 0) {
+                    safe |= Bitboards.bit(to);
+                }
+            }
+            return safe;
+        }
+        ChessPiece.PieceType type = Bitboards.typeOf(pieceIndex);
+        long targets = type == ChessPiece.PieceType.PAWN
+                ? pawnTargets(color, from, occupied, board.getOccupancy(opponent(color)))
+                : Attacks.attacks(type, from, occupied) & ~own;
+        targets &= checkMask;
+        if ((pinned & Bitboards.bit(from)) != 0) {
+            targets &= Attacks.line(king, from);
+        }
+        return targets;
+    }
+
+    /**
+     * @return the squares a non-king move must land on to deal with the current checks
+     */
+    private static long checkMask(int king, long checkers) {
+        if (checkers == 0) {
+            return -1L;
+        }
+        if (Long.bitCount(checkers) > 1) {
+            return 0L;
+        }
+        int checker = Long.numberOfTrailingZeros(checkers);
+        return checkers | Attacks.between(king, checker);
+    }
+
+    /**
+     * @return the pieces of {@code color} that are the only piece between their king and an enemy slider
+     */
+    private static long pinnedPieces(ChessBoard board, ChessGame.TeamColor color, int king) {
+        if (king == Bitboards.NO_SQUARE) {
+            return 0L;
+        }
+        ChessGame.TeamColor enemy = opponent(color);
+        long enemyPieces = board.getOccupancy(enemy);
+        long queens = board.getBitboard(enemy, ChessPiece.PieceType.QUEEN);
+        //looking through our own pieces, which enemy sliders are lined up with the king
+        long snipers = (Attacks.rookAttacks(king, enemyPieces)
+                & (queens | board.getBitboard(enemy, ChessPiece.PieceType.ROOK)))
+                | (Attacks.bishopAttacks(king, enemyPieces)
+                & (queens | board.getBitboard(enemy, ChessPiece.PieceType.BISHOP)));
+        long occupied = board.getOccupancy();
+        long own = board.getOccupancy(color);
+        long pinned = 0L;
+        while (snipers != 0) {
+            int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            long blockers = Attacks.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1 && (blockers & own) != 0) {
+                pinned |= blockers;
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * @return the squares a pawn on {@code from} can push or capture to
+     */
+    static long pawnTargets(ChessGame.TeamColor color, int from, long occupied, long enemy) {
+        long targets = Attacks.pawnAttacks(color, from) & enemy;
+        long single = Attacks.pawnPushes(color, from) & ~occupied;
+        if (single == 0) {
+            return targets;
+        }
+        return targets | single | (Attacks.pawnDoublePushes(color, from) & ~occupied);
+    }
+
+    private static int addPawnMoves(ChessGame.TeamColor color, int from, long targets, long enemy,
+                                    int[] moves, int count) {
+        long promotionRank = color == ChessGame.TeamColor.WHITE ? Bitboards.RANK_8 : Bitboards.RANK_1;
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            long bit = targets & -targets;
+            targets &= targets - 1;
+            int flags = (enemy & bit) != 0 ? PackedMove.CAPTURE : 0;
+            if (Math.abs(to - from) == 16) {
+                flags |= PackedMove.DOUBLE_PUSH;
+            }
+            if ((promotionRank & bit) != 0) {
+                for (ChessPiece.PieceType promotion : PROMOTIONS) {
+                    moves[count++] = PackedMove.encode(from, to, promotion, flags);
+                }
+            } else {
+                moves[count++] = PackedMove.encode(from, to, flags);
+            }
+        }
+        return count;
+    }
+
+    private static int addMoves(int from, long targets, long enemy, int[] moves, int count) {
+        while (targets != 0) {
+            int to = Long.numberOfTrailingZeros(targets);
+            int flags = (enemy & (targets & -targets)) != 0 ? PackedMove.CAPTURE : 0;
+            targets &= targets - 1;
+            moves[count++] = PackedMove.encode(from, to, flags);
+        }
+        return count;
+    }
+
+    /**
+     * Adds en passant captures by pawns on {@code fromMask}. When {@code king} is a square,
+     * captures that would leave that king attacked are skipped; when {@code moves} is null
+     * the captures are only counted.
+     */
+    private static int addEnPassant(ChessBoard board, ChessGame.TeamColor color, long fromMask, int king,
+                                    int[] moves, int count) {
+        int target = board.getEnPassantSquare();
+        if (target == Bitboards.NO_SQUARE) {
+            return count;
+        }
+        ChessGame.TeamColor enemy = opponent(color);
+        int captured = color == ChessGame.TeamColor.WHITE ? target - 8 : target + 8;
+        if ((board.getBitboard(enemy, ChessPiece.PieceType.PAWN) & Bitboards.bit(captured)) == 0) {
+            return count;
+        }
+        //pawns that could capture onto the target are the ones an enemy pawn there would attack
+        long pawns = Attacks.pawnAttacks(enemy, target)
+                & board.getBitboard(color, ChessPiece.PieceType.PAWN) & fromMask;
+        while (pawns != 0) {
+            int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            if (king != Bitboards.NO_SQUARE) {
+                //two pawns leave the capturing row at once, so test the resulting occupancy directly
+                long after = (board.getOccupancy() ^ Bitboards.bit(from) ^ Bitboards.bit(captured))
+                        | Bitboards.bit(target);
+                if (board.attackersOf(king, enemy, after) != 0) {
+                    continue;
+                }
+            }
+            if (moves != null) {
+                moves[count] = PackedMove.encode(from, target, PackedMove.CAPTURE | PackedMove.EN_PASSANT);
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Adds castling moves whose path is clear. With {@code checkAttacks}, castling is also
+     * skipped when the square the king passes or lands on is attacked; the caller is
+     * responsible for not castling out of check.
+     */
+    private static int addCastling(ChessBoard board, ChessGame.TeamColor color, boolean checkAttacks,
+                                   int[] moves, int count) {
+        int rights = board.getCastlingRights();
+        int kingSquare = color == ChessGame.TeamColor.WHITE ? E1 : E8;
+        int kingside = color == ChessGame.TeamColor.WHITE ? ChessBoard.WHITE_KINGSIDE : ChessBoard.BLACK_KINGSIDE;
+        int queenside = color == ChessGame.TeamColor.WHITE ? ChessBoard.WHITE_QUEENSIDE : ChessBoard.BLACK_QUEENSIDE;
+        if ((rights & (kingside | queenside)) == 0
+                || (board.getBitboard(color, ChessPiece.PieceType.KING) & Bitboards.bit(kingSquare)) == 0) {
+            return count;
+        }
+        long rooks = board.getBitboard(color, ChessPiece.PieceType.ROOK);
+        long occupied = board.getOccupancy();
+        if ((rights & kingside) != 0 && (rooks & Bitboards.bit(kingSquare + 3)) != 0
+                && (occupied & (Bitboards.bit(kingSquare + 1) | Bitboards.bit(kingSquare + 2))) == 0
+                && (!checkAttacks || isSafePath(board, color, kingSquare + 1, kingSquare + 2))) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare + 2, PackedMove.CASTLE);
+        }
+        if ((rights & queenside) != 0 && (rooks & Bitboards.bit(kingSquare - 4)) != 0
+                && (occupied & (Bitboards.bit(kingSquare - 1) | Bitboards.bit(kingSquare - 2)
+                | Bitboards.bit(kingSquare - 3))) == 0
+                && (!checkAttacks || isSafePath(board, color, kingSquare - 1, kingSquare - 2))) {
+            moves[count++] = PackedMove.encode(kingSquare, kingSquare - 2, PackedMove.CASTLE);
+        }
+        return count;
+    }
+
+    private static boolean isSafePath(ChessBoard board, ChessGame.TeamColor color, int passed, int landing) {
+        ChessGame.TeamColor enemy = opponent(color);
+        return !board.isSquareAttacked(passed, enemy) && !board.isSquareAttacked(landing, enemy);
+    }
+
+    static ChessGame.TeamColor opponent(ChessGame.TeamColor color) {
+        return color == ChessGame.TeamColor.WHITE ? ChessGame.TeamColor.BLACK : ChessGame.TeamColor.WHITE;
+    }
+}
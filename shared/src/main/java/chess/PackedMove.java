@@ -0,0 +1,76 @@
+package chess;
+
+/**
+ * Encodes a move in a single int so move lists can live in plain int arrays.
+ * <p>
+ * Layout: bits 0-5 start square, bits 6-11 end square, bits 12-14 promotion
+ * piece ({@code PieceType.ordinal() + 1}, or 0 for none) and bits 15-18 flags.
+ */
+public final class PackedMove {
+    public static final int NONE = 0;
+
+    public static final int CAPTURE = 1 << 15;
+    public static final int DOUBLE_PUSH = 1 << 16;
+    public static final int EN_PASSANT = 1 << 17;
+    public static final int CASTLE = 1 << 18;
+
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private PackedMove() {
+    }
+
+    public static int encode(int from, int to, int flags) {
+        return from | (to << 6) | flags;
+    }
+
+    public static int encode(int from, int to, ChessPiece.PieceType promotion, int flags) {
+        int promotionBits = promotion == null ? 0 : (promotion.ordinal() + 1) << 12;
+        return from | (to << 6) | promotionBits | flags;
+    }
+
+    public static int from(int move) {
+        return move & 0x3F;
+    }
+
+    public static int to(int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    /**
+     * @return the promotion piece, or null if the move is not a promotion
+     */
+    public static ChessPiece.PieceType promotion(int move) {
+        int bits = (move >>> 12) & 0x7;
+        return bits == 0 ? null : TYPES[bits - 1];
+    }
+
+    public static boolean isPromotion(int move) {
+        return (move & 0x7000) != 0;
+    }
+
+    public static boolean has(int move, int flag) {
+        return (move & flag) != 0;
+    }
+
+    /**
+     * @return the move with its flags stripped, which identifies it by start, end and promotion only
+     */
+    public static int withoutFlags(int move) {
+        return move & 0x7FFF;
+    }
+
+    /**
+     * @return the shared {@link ChessMove} for this move's start, end and promotion
+     */
+    public static ChessMove toChessMove(int move) {
+        return ChessMove.interned(withoutFlags(move));
+    }
+
+    /**
+     * Packs a move without flags; match it against generated moves with {@link #withoutFlags}
+     */
+    public static int fromChessMove(ChessMove move) {
+        return encode(Bitboards.square(move.getStartPosition()), Bitboards.square(move.getEndPosition()),
+                move.getPromotionPiece(), 0);
+    }
+}
@@ -0,0 +1,112 @@
+package chess;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Counts the leaf nodes of the legal move tree to a fixed depth ("perft").
+ * <p>
+ * The counts for well known positions are published, so comparing against
+ * them checks move generation and make/unmake together, and timing the
+ * walk measures move generation throughput. Run from the command line with
+ * a depth and an optional FEN: {@code java chess.Perft 5 "<fen>"}.
+ */
+public final class Perft {
+    private final int[][] buffers;
+
+    /**
+     * @param maxDepth the deepest walk this instance will be asked for
+     */
+    public Perft(int maxDepth) {
+        buffers = new int[Math.max(maxDepth, 1)][MoveGenerator.MAX_MOVES];
+    }
+
+    /**
+     * @return the number of move sequences of exactly {@code depth} legal moves
+     */
+    public long count(ChessBoard board, int depth) {
+        if (depth > buffers.length) {
+            throw new IllegalArgumentException("Depth " + depth + " is deeper than " + buffers.length);
+        }
+        return depth == 0 ? 1 : walk(board, depth, 0);
+    }
+
+    /**
+     * Splits the count by first move, which narrows a wrong total down to the move that causes it
+     *
+     * @return node counts keyed by moves in coordinate form such as {@code e2e4} or {@code e7e8q}
+     */
+    public Map<String, Long> divide(ChessBoard board, int depth) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (depth < 1) {
+            return counts;
+        }
+        if (depth > buffers.length) {
+            throw new IllegalArgumentException("Depth " + depth + " is deeper than " + buffers.length);
+        }
+        int[] moves = buffers[0];
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.makeMove(move);
+            long nodes = depth == 1 ? 1 : walk(board, depth - 1, 1);
+            board.unmakeMove(move);
+            counts.put(moveName(move), nodes);
+        }
+        return counts;
+    }
+
+    private long walk(ChessBoard board, int depth, int ply) {
+        int[] moves = buffers[ply];
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+        if (depth == 1) {
+            return count;
+        }
+        long nodes = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            nodes += walk(board, depth - 1, ply + 1);
+            board.unmakeMove(moves[i]);
+        }
+        return nodes;
+    }
+
+    /**
+     * @return a packed move in coordinate form such as {@code e2e4} or {@code e7e8q}
+     */
+    public static String moveName(int move) {
+        StringBuilder name = new StringBuilder(5);
+        Fen.appendSquare(PackedMove.from(move), name);
+        Fen.appendSquare(PackedMove.to(move), name);
+        ChessPiece.PieceType promotion = PackedMove.promotion(move);
+        if (promotion != null) {
+            name.append(switch (promotion) {
+                case QUEEN -> 'q';
+                case ROOK -> 'r';
+                case BISHOP -> 'b';
+                default -> 'n';
+            });
+        }
+        return name.toString();
+    }
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String fen = args.length > 1 ? args[1] : Fen.START;
+        ChessBoard board = Fen.toBoard(fen);
+        Perft perft = new Perft(depth);
+
+        long start = System.nanoTime();
+        Map<String, Long> counts = perft.divide(board, depth);
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+            total += entry.getValue();
+        }
+        System.out.println();
+        System.out.println("Nodes: " + total);
+        System.out.printf("Time: %.3f s, %.0f nodes/s%n", elapsed / 1e9, total / Math.max(elapsed / 1e9, 1e-9));
+    }
+}
@@ -0,0 +1,91 @@
+package chess;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One game from a PGN file: its tag pairs, its main line of moves in SAN and its result.
+ * Comments, variations and annotation glyphs are not kept.
+ *
+ * @param tags   tag pairs such as Event, White and Black, in file order
+ * @param moves  the main line, one SAN move per entry
+ * @param result {@code 1-0}, {@code 0-1}, {@code 1/2-1/2} or {@code *}
+ */
+public record PgnGame(Map<String, String> tags, List<String> moves, String result) {
+
+    /**
+     * Records a game played from {@code start} as PGN move text
+     *
+     * @throws InvalidMoveException if a move is not legal in the position it is played from
+     */
+    public static PgnGame of(Map<String, String> tags, ChessGame start, List<ChessMove> moves, String result)
+            throws InvalidMoveException {
+        ChessBoard board = start.getBoard().cloneBoard();
+        List<String> san = new ArrayList<>(moves.size());
+        int[] legal = new int[MoveGenerator.MAX_MOVES];
+        for (ChessMove move : moves) {
+            int requested = PackedMove.fromChessMove(move);
+            int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, legal, 0);
+            int matched = PackedMove.NONE;
+            for (int i = 0; i < count && matched == PackedMove.NONE; i++) {
+                if (PackedMove.withoutFlags(legal[i]) == requested) {
+                    matched = legal[i];
+                }
+            }
+            if (matched == PackedMove.NONE) {
+                throw new InvalidMoveException("Illegal move " + move);
+            }
+            san.add(San.toSan(board, matched));
+            board.makeMove(matched);
+        }
+        return new PgnGame(tags, Collections.unmodifiableList(san), result);
+    }
+
+    /**
+     * @return the FEN tag if the game did not start from the usual position, otherwise the starting FEN
+     */
+    public String startingFen() {
+        String fen = tags.get("FEN");
+        return fen != null ? fen : Fen.START;
+    }
+
+    /**
+     * Plays the main line through the engine
+     *
+     * @return the game after the last move
+     * @throws InvalidMoveException if a move cannot be read or is not legal
+     */
+    public ChessGame replay() throws InvalidMoveException {
+        ChessGame start = Fen.toGame(startingFen());
+        ChessBoard board = start.getBoard();
+        for (String san : moves) {
+            try {
+                board.makeMove(San.parse(board, san));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidMoveException(e.getMessage());
+            }
+        }
+        return new ChessGame(board, board.getSideToMove(), start.getMoveCount() + moves.size());
+    }
+
+    /**
+     * @return the moves of the main line as {@link ChessMove}s
+     * @throws InvalidMoveException if a move cannot be read or is not legal
+     */
+    public List<ChessMove> chessMoves() throws InvalidMoveException {
+        ChessBoard board = Fen.toBoard(startingFen());
+        List<ChessMove> chessMoves = new ArrayList<>(moves.size());
+        for (String san : moves) {
+            try {
+                int move = San.parse(board, san);
+                chessMoves.add(PackedMove.toChessMove(move));
+                board.makeMove(move);
+            } catch (IllegalArgumentException e) {
+                throw new InvalidMoveException(e.getMessage());
+            }
+        }
+        return chessMoves;
+    }
+}
@@ -0,0 +1,178 @@
+package chess;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads games from PGN text one at a time.
+ * <p>
+ * The input is scanned a character at a time and only the game being read is
+ * held in memory, so files of any size can be imported by calling {@link #next}
+ * until it returns null. Comments, variations, annotation glyphs and move
+ * numbers are skipped; the main line is kept as SAN.
+ */
+public class PgnReader implements Closeable {
+    private static final int NONE = -2;
+
+    private final Reader in;
+    //a character read one step too far, or NONE
+    private int pending = NONE;
+    private final StringBuilder token = new StringBuilder(16);
+
+    public PgnReader(Reader in) {
+        this.in = in instanceof BufferedReader ? in : new BufferedReader(in, 1 << 16);
+    }
+
+    /**
+     * @return the next game, or null once the input is exhausted
+     */
+    public PgnGame next() throws IOException {
+        Map<String, String> tags = new LinkedHashMap<>();
+        List<String> moves = new ArrayList<>();
+        boolean inMoves = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            switch (c) {
+                case '[' -> {
+                    if (inMoves) {
+                        //the next game's tags started without a result
+                        pending = c;
+                        return game(tags, moves, "*");
+                    }
+                    readTag(tags);
+                }
+                case '{' -> skipPast('}');
+                case ';', '%' -> skipPast('\n');
+                case '(' -> skipVariation();
+                case '$' -> readToken(c);
+                default -> {
+                    inMoves = true;
+                    String text = readToken(c);
+                    if (isResult(text)) {
+                        return game(tags, moves, text);
+                    }
+                    String move = moveText(text);
+                    if (!move.isEmpty()) {
+                        moves.add(move);
+                    }
+                }
+            }
+        }
+        return tags.isEmpty() && moves.isEmpty() ? null : game(tags, moves, "*");
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static PgnGame game(Map<String, String> tags, List<String> moves, String result) {
+        return new PgnGame(Collections.unmodifiableMap(tags), Collections.unmodifiableList(moves), result);
+    }
+
+    private int read() throws IOException {
+        if (pending != NONE) {
+            int c = pending;
+            pending = NONE;
+            return c;
+        }
+        return in.read();
+    }
+
+    /**
+     * Reads {@code Name "value"]}, the rest of a tag pair after its opening bracket
+     */
+    private void readTag(Map<String, String> tags) throws IOException {
+        token.setLength(0);
+        int c;
+        while ((c = read()) != -1 && c != '"' && c != ']') {
+            if (!Character.isWhitespace(c)) {
+                token.append((char) c);
+            }
+        }
+        String name = token.toString();
+        token.setLength(0);
+        if (c == '"') {
+            while ((c = read()) != -1 && c != '"') {
+                if (c == '\\') {
+                    c = read();
+                }
+                token.append((char) c);
+            }
+            skipPast(']');
+        }
+        tags.put(name, token.toString());
+    }
+
+    /**
+     * Reads a move, move number, result or glyph starting with {@code first}
+     */
+    private String readToken(int first) throws IOException {
+        token.setLength(0);
+        token.append((char) first);
+        int c;
+        while ((c = read()) != -1) {
+            if (Character.isWhitespace(c)) {
+                break;
+            }
+            if ("{}();[".indexOf(c) >= 0) {
+                pending = c;
+                break;
+            }
+            token.append((char) c);
+        }
+        return token.toString();
+    }
+
+    private void skipPast(char end) throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && c != end);
+    }
+
+    private void skipVariation() throws IOException {
+        int depth = 1;
+        int c;
+        while (depth > 0 && (c = read()) != -1) {
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '{') {
+                skipPast('}');
+            }
+        }
+    }
+
+    private static boolean isResult(String text) {
+        return text.equals("1-0") || text.equals("0-1") || text.equals("1/2-1/2") || text.equals("*");
+    }
+
+    /**
+     * Drops a leading move number such as {@code 12.} or {@code 12...}, which some files join
+     * to the move, and trailing annotations such as {@code !?}
+     */
+    private static String moveText(String text) {
+        int start = 0;
+        int dot = text.lastIndexOf('.');
+        if (dot >= 0 && Character.isDigit(text.charAt(0))) {
+            start = dot + 1;
+        }
+        int end = text.length();
+        while (end > start && (text.charAt(end - 1) == '!' || text.charAt(end - 1) == '?')) {
+            end--;
+        }
+        return text.substring(start, end);
+    }
+}
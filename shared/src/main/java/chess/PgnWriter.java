@@ -0,0 +1,72 @@
+package chess;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Writes games as PGN text, one after another, with move text wrapped at 80 columns.
+ */
+public class PgnWriter implements Closeable, Flushable {
+    private static final int LINE_WIDTH = 80;
+
+    private final Writer out;
+
+    public PgnWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void write(PgnGame game) throws IOException {
+        for (Map.Entry<String, String> tag : game.tags().entrySet()) {
+            out.write('[');
+            out.write(tag.getKey());
+            out.write(" \"");
+            out.write(tag.getValue().replace("\\", "\\\\").replace("\"", "\\\""));
+            out.write("\"]\n");
+        }
+        out.write('\n');
+
+        //black moves first when the game starts from a FEN with black to move
+        ChessBoard start = Fen.toBoard(game.startingFen());
+        int ply = start.getSideToMove() == ChessGame.TeamColor.WHITE ? 0 : 1;
+        int column = 0;
+        StringBuilder word = new StringBuilder(16);
+        for (int i = 0; i < game.moves().size(); i++, ply++) {
+            word.setLength(0);
+            if (ply % 2 == 0) {
+                word.append(ply / 2 + 1).append(". ");
+            } else if (i == 0) {
+                word.append(ply / 2 + 1).append("... ");
+            }
+            word.append(game.moves().get(i));
+            column = writeWord(word, column);
+        }
+        word.setLength(0);
+        writeWord(word.append(game.result()), column);
+        out.write("\n\n");
+    }
+
+    private int writeWord(CharSequence word, int column) throws IOException {
+        if (column > 0 && column + 1 + word.length() > LINE_WIDTH) {
+            out.write('\n');
+            column = 0;
+        } else if (column > 0) {
+            out.write(' ');
+            column++;
+        }
+        out.append(word);
+        return column + word.length();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
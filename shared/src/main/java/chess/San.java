@@ -0,0 +1,179 @@
+package chess;
+
+/**
+ * Standard Algebraic Notation, the move text used by PGN: {@code e4}, {@code Nbd7},
+ * {@code exd5}, {@code O-O}, {@code e8=Q+}.
+ * <p>
+ * Both directions need the legal moves of the position, to tell which piece a short
+ * move means and to add check and mate marks, so they work on a {@link ChessBoard}
+ * whose side to move is the one making the move.
+ */
+public final class San {
+    private static final String PIECE_LETTERS = "KQBNR";
+    private static final ChessPiece.PieceType[] TYPES = ChessPiece.PieceType.values();
+
+    private San() {
+    }
+
+    /**
+     * @param move a legal {@link PackedMove} for the side to move
+     * @return the move in SAN, with {@code +} or {@code #} when it gives check or mate
+     */
+    public static String toSan(ChessBoard board, int move) {
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+        StringBuilder san = new StringBuilder(8);
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        ChessPiece.PieceType type = Bitboards.typeOf(board.pieceIndexAt(from));
+
+        if (PackedMove.has(move, PackedMove.CASTLE)) {
+            san.append((to & 7) == 6 ? "O-O" : "O-O-O");
+        } else if (type == ChessPiece.PieceType.PAWN) {
+            if (PackedMove.has(move, PackedMove.CAPTURE)) {
+                san.append((char) ('a' + (from & 7))).append('x');
+            }
+            Fen.appendSquare(to, san);
+            ChessPiece.PieceType promotion = PackedMove.promotion(move);
+            if (promotion != null) {
+                san.append('=').append(PIECE_LETTERS.charAt(promotion.ordinal()));
+            }
+        } else {
+            san.append(PIECE_LETTERS.charAt(type.ordinal()));
+            appendDisambiguation(board, move, moves, count, san);
+            if (PackedMove.has(move, PackedMove.CAPTURE)) {
+                san.append('x');
+            }
+            Fen.appendSquare(to, san);
+        }
+
+        board.makeMove(move);
+        ChessGame.TeamColor defender = board.getSideToMove();
+        int king = Bitboards.firstSquare(board.getBitboard(defender, ChessPiece.PieceType.KING));
+        if (king != Bitboards.NO_SQUARE && board.isSquareAttacked(king, MoveGenerator.opponent(defender))) {
+            san.append(MoveGenerator.hasLegalMove(board, defender) ? '+' : '#');
+        }
+        board.unmakeMove(move);
+        return san.toString();
+    }
+
+    /**
+     * Finds the legal move a SAN token names. Check, mate and annotation marks
+     * ({@code + # ! ?}) are ignored, and castling may be written with zeros.
+     *
+     * @return the matching {@link PackedMove}
+     * @throws IllegalArgumentException if no legal move, or more than one, matches
+     */
+    public static int parse(ChessBoard board, CharSequence san) {
+        int end = san.length();
+        while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+
+        String text = san.subSequence(0, end).toString();
+        if (text.equals("O-O") || text.equals("0-0") || text.equals("O-O-O") || text.equals("0-0-0")) {
+            int file = text.length() == 3 ? 6 : 2;
+            for (int i = 0; i < count; i++) {
+                if (PackedMove.has(moves[i], PackedMove.CASTLE) && (PackedMove.to(moves[i]) & 7) == file) {
+                    return moves[i];
+                }
+            }
+            throw new IllegalArgumentException("Castling is not legal here: " + san);
+        }
+
+        ChessPiece.PieceType promotion = null;
+        int promotionAt = text.indexOf('=');
+        if (promotionAt < 0 && end >= 3 && PIECE_LETTERS.indexOf(text.charAt(end - 1)) > 0
+                && Character.isDigit(text.charAt(end - 2))) {
+            //some files leave out the '=' as in e8Q
+            promotionAt = end - 1;
+        }
+        if (promotionAt >= 0) {
+            promotion = pieceType(text, promotionAt + (text.charAt(promotionAt) == '=' ? 1 : 0), san);
+            text = text.substring(0, promotionAt);
+        }
+
+        ChessPiece.PieceType type = ChessPiece.PieceType.PAWN;
+        int start = 0;
+        if (!text.isEmpty() && Character.isUpperCase(text.charAt(0))) {
+            type = pieceType(text, 0, san);
+            start = 1;
+        }
+        if (text.length() - start < 2) {
+            throw new IllegalArgumentException("Bad move: " + san);
+        }
+        int to = Fen.readSquare(text.substring(text.length() - 2));
+        int fromFile = -1;
+        int fromRow = -1;
+        for (int i = start; i < text.length() - 2; i++) {
+            char c = text.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromFile = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = c - '1';
+            } else if (c != 'x' && c != '-') {
+                throw new IllegalArgumentException("Bad move: " + san);
+            }
+        }
+
+        int found = PackedMove.NONE;
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            int from = PackedMove.from(move);
+            if (PackedMove.to(move) != to || PackedMove.promotion(move) != promotion
+                    || Bitboards.typeOf(board.pieceIndexAt(from)) != type
+                    || (fromFile >= 0 && (from & 7) != fromFile) || (fromRow >= 0 && (from >>> 3) != fromRow)) {
+                continue;
+            }
+            if (found != PackedMove.NONE) {
+                throw new IllegalArgumentException("Ambiguous move: " + san);
+            }
+            found = move;
+        }
+        if (found == PackedMove.NONE) {
+            throw new IllegalArgumentException("Move is not legal here: " + san);
+        }
+        return found;
+    }
+
+    /**
+     * Adds the start file, row or both when another piece of the same type could also reach the target
+     */
+    private static void appendDisambiguation(ChessBoard board, int move, int[] moves, int count, StringBuilder san) {
+        int from = PackedMove.from(move);
+        int to = PackedMove.to(move);
+        int pieceIndex = board.pieceIndexAt(from);
+        boolean ambiguous = false;
+        boolean sameFile = false;
+        boolean sameRow = false;
+        for (int i = 0; i < count; i++) {
+            int other = PackedMove.from(moves[i]);
+            if (other == from || PackedMove.to(moves[i]) != to || board.pieceIndexAt(other) != pieceIndex) {
+                continue;
+            }
+            ambiguous = true;
+            sameFile |= (other & 7) == (from & 7);
+            sameRow |= (other >>> 3) == (from >>> 3);
+        }
+        if (!ambiguous) {
+            return;
+        }
+        if (!sameFile) {
+            san.append((char) ('a' + (from & 7)));
+        } else if (!sameRow) {
+            san.append((char) ('1' + (from >>> 3)));
+        } else {
+            Fen.appendSquare(from, san);
+        }
+    }
+
+    private static ChessPiece.PieceType pieceType(String text, int at, CharSequence san) {
+        int type = at < text.length() ? PIECE_LETTERS.indexOf(text.charAt(at)) : -1;
+        if (type < 0) {
+            throw new IllegalArgumentException("Bad piece letter in " + san);
+        }
+        return TYPES[type];
+    }
+}
@@ -0,0 +1,7 @@
+package exceptions;
+
+public class ForbiddenException extends Exception {
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
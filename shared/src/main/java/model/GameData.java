@@ -1,6 +1,15 @@
 package model;
 
 import chess.ChessGame;
-public record GameData(int gameID, String whiteUsername, String blackUsername, String gameName, ChessGame game) {}
 
+/**
+ * @param version how many times the stored game has been updated; a conditional update
+ *                only succeeds if the game is still at the version it was read at
+ */
+public record GameData(int gameID, String whiteUsername, String blackUsername, String gameName, ChessGame game,
+                       int version) {
 
+    public GameData(int gameID, String whiteUsername, String blackUsername, String gameName, ChessGame game) {
+        this(gameID, whiteUsername, blackUsername, gameName, game, 0);
+    }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import chess.ChessGame;
+
+/**
+ * Where a game stands, as shown in the game list
+ */
+public enum GameStatus {
+    //a seat is still free
+    OPEN,
+    IN_PROGRESS,
+    CHECKMATE,
+    STALEMATE,
+    //threefold repetition, the fifty-move rule or insufficient material
+    DRAW;
+
+    /**
+     * @return whether no more moves can be made
+     */
+    public boolean isOver() {
+        return this != OPEN && this != IN_PROGRESS;
+    }
+
+    public static GameStatus of(GameData data) {
+        ChessGame game = data.game();
+        if (game != null) {
+            GameStatus over = switch (game.getStatus()) {
+                case CHECKMATE -> CHECKMATE;
+                case STALEMATE -> STALEMATE;
+                case DRAW -> DRAW;
+                case IN_PLAY, CHECK -> null;
+            };
+            if (over != null) {
+                return over;
+            }
+        }
+        return data.whiteUsername() == null || data.blackUsername() == null ? OPEN : IN_PROGRESS;
+    }
+}
@@ -0,0 +1,13 @@
+package model;
+
+/**
+ * What the game list shows about a game, without its board
+ */
+public record GameSummary(int gameID, String gameName, String whiteUsername, String blackUsername,
+                          GameStatus status, int moveCount) {
+
+    public static GameSummary of(GameData data) {
+        return new GameSummary(data.gameID(), data.gameName(), data.whiteUsername(), data.blackUsername(),
+                GameStatus.of(data), data.game() == null ? 0 : data.game().getMoveCount());
+    }
+}
@@ -0,0 +1,11 @@
+package model;
+
+import chess.ChessMove;
+
+/**
+ * One entry in a game's move history
+ *
+ * @param ply      how many moves had been made in the game once this one was, starting at 1
+ * @param playedAt when the move was saved, in epoch milliseconds
+ */
+public record MoveRecord(int ply, ChessMove move, long playedAt) {}
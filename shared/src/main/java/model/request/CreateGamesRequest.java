@@ -0,0 +1,17 @@
+package model.request;
+
+import java.util.List;
+
+/**
+ * Creates many games at once, for example a tournament round with its players already seated.
+ * Only admins can do this, and every seated player must already have an account.
+ */
+public record CreateGamesRequest(String authToken, List<NewGame> games) {
+
+    /**
+     * @param whiteUsername the player to seat as white, or null to leave the seat open
+     * @param blackUsername the player to seat as black, or null to leave the seat open
+     */
+    public record NewGame(String gameName, String whiteUsername, String blackUsername) {
+    }
+}
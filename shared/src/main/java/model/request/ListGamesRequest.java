@@ -1,4 +1,13 @@
 package model.request;
 
-public record ListGamesRequest(String authToken) {
-}
\ No newline at end of file
+/**
+ * Lists the games after {@code cursor} (a game id, or null for the first page), at most
+ * {@code limit} of them when set, filtered to games with an open seat, games {@code player}
+ * sits in, and games whose name starts with {@code namePrefix}
+ */
+public record ListGamesRequest(String authToken, Integer cursor, Integer limit, boolean openSeats,
+                               String player, String namePrefix) {
+    public ListGamesRequest(String authToken) {
+        this(authToken, null, null, false, null, null);
+    }
+}
@@ -0,0 +1,5 @@
+package model.request;
+
+import chess.ChessMove;
+
+public record MakeMoveRequest(String authToken, int gameID, ChessMove move) {}
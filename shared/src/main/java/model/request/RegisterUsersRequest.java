@@ -0,0 +1,9 @@
+package model.request;
+
+import java.util.List;
+
+/**
+ * Imports up to 100 accounts at once; only admins, listed in the {@code chess.admins}
+ * system property, can do this
+ */
+public record RegisterUsersRequest(String authToken, List<RegisterRequest> users) {}
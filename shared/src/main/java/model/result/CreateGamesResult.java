@@ -0,0 +1,8 @@
+package model.result;
+
+import java.util.List;
+
+/**
+ * @param gameIDs the new games' ids, in the order they were requested
+ */
+public record CreateGamesResult(List<Integer> gameIDs) {}
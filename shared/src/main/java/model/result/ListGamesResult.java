@@ -1,9 +1,14 @@
 package model.result;
 
-import model.GameData;
+import model.GameSummary;
 
 import java.util.Collection;
 
-public record ListGamesResult(Collection<GameData> games) {
+/**
+ * @param nextCursor pass as the next request's cursor to get the following page; null on the last page
+ */
+public record ListGamesResult(Collection<GameSummary> games, Integer nextCursor) {
+    public ListGamesResult(Collection<GameSummary> games) {
+        this(games, null);
+    }
 }
-
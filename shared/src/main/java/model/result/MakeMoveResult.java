@@ -0,0 +1,8 @@
+package model.result;
+
+import model.GameStatus;
+
+/**
+ * @param moveCount how many moves have been made in the game, including this one
+ */
+public record MakeMoveResult(GameStatus status, int moveCount) {}
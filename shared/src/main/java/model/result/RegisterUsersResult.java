@@ -0,0 +1,5 @@
+package model.result;
+
+import java.util.List;
+
+public record RegisterUsersResult(List<String> usernames) {}
@@ -0,0 +1,38 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttacksTests {
+
+    private static long bit(int row, int column) {
+        return Bitboards.bit(Bitboards.square(row, column));
+    }
+
+    @Test
+    public void pawnPushes() {
+        ChessGame.TeamColor white = ChessGame.TeamColor.WHITE;
+        ChessGame.TeamColor black = ChessGame.TeamColor.BLACK;
+        assertEquals(bit(3, 5), Attacks.pawnPushes(white, Bitboards.square(2, 5)));
+        assertEquals(bit(4, 5), Attacks.pawnDoublePushes(white, Bitboards.square(2, 5)));
+        assertEquals(0L, Attacks.pawnDoublePushes(white, Bitboards.square(3, 5)));
+        assertEquals(bit(6, 1), Attacks.pawnPushes(black, Bitboards.square(7, 1)));
+        assertEquals(bit(5, 1), Attacks.pawnDoublePushes(black, Bitboards.square(7, 1)));
+        assertEquals(0L, Attacks.pawnPushes(white, Bitboards.square(8, 3)));
+    }
+
+    @Test
+    public void leaperTablesStayOnBoard() {
+        assertEquals(bit(2, 3) | bit(3, 2), Attacks.knightAttacks(Bitboards.square(1, 1)));
+        assertEquals(bit(7, 7) | bit(7, 8) | bit(8, 7), Attacks.kingAttacks(Bitboards.square(8, 8)));
+        assertEquals(bit(3, 7), Attacks.pawnAttacks(ChessGame.TeamColor.WHITE, Bitboards.square(2, 8)));
+    }
+
+    @Test
+    public void blockedPawnHasNoDoublePush() {
+        long occupied = bit(3, 4);
+        long targets = MoveGenerator.pawnTargets(ChessGame.TeamColor.WHITE, Bitboards.square(2, 4), occupied, 0L);
+        assertEquals(0L, targets);
+    }
+}
@@ -0,0 +1,115 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DrawTests {
+    //both knights out and back, which returns to the position it started from
+    private static final ChessMove[] SHUFFLE = {
+            move(1, 7, 3, 6), move(8, 7, 6, 6), move(3, 6, 1, 7), move(6, 6, 8, 7)};
+
+    @Test
+    public void threefoldRepetition() throws Exception {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 7; i++) {
+            game.makeMove(SHUFFLE[i % SHUFFLE.length]);
+            assertFalse(game.isThreefoldRepetition());
+        }
+        game.makeMove(SHUFFLE[3]);
+        assertTrue(game.isThreefoldRepetition());
+        assertTrue(game.isDraw());
+    }
+
+    @Test
+    public void pawnMoveForgetsEarlierPositions() throws Exception {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 4; i++) {
+            game.makeMove(SHUFFLE[i]);
+        }
+        game.makeMove(move(2, 1, 3, 1));
+        game.makeMove(move(7, 1, 6, 1));
+        for (int i = 0; i < 8; i++) {
+            assertFalse(game.isThreefoldRepetition());
+            game.makeMove(SHUFFLE[i % SHUFFLE.length]);
+        }
+        assertTrue(game.isThreefoldRepetition());
+    }
+
+    @Test
+    public void repetitionSurvivesEncoding() throws Exception {
+        ChessGame game = new ChessGame();
+        for (int i = 0; i < 7; i++) {
+            game = ChessGame.decode(game.encode());
+            game.makeMove(SHUFFLE[i % SHUFFLE.length]);
+        }
+        assertEquals(GameStateCodec.LENGTH + 7 * Long.BYTES, game.encode().length);
+        ChessGame decoded = ChessGame.decode(game.encode());
+        assertFalse(decoded.isThreefoldRepetition());
+        decoded.makeMove(SHUFFLE[3]);
+        assertTrue(decoded.isThreefoldRepetition());
+    }
+
+    @Test
+    public void setBoardStartsHistoryAgain() throws Exception {
+        ChessGame game = new ChessGame();
+        for (ChessMove move : SHUFFLE) {
+            game.makeMove(move);
+        }
+        for (ChessMove move : SHUFFLE) {
+            game.makeMove(move);
+        }
+        assertTrue(game.isThreefoldRepetition());
+        assertEquals(ChessGame.Status.DRAW, game.getStatus());
+
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        game.setBoard(board);
+        assertFalse(game.isThreefoldRepetition());
+        assertEquals(0, game.getHalfmoveClock());
+        assertEquals(ChessGame.Status.IN_PLAY, game.getStatus());
+        //earlier visits to this position no longer count
+        for (int i = 0; i < 7; i++) {
+            game.makeMove(SHUFFLE[i % SHUFFLE.length]);
+            assertFalse(game.isThreefoldRepetition());
+        }
+        game.makeMove(SHUFFLE[3]);
+        assertTrue(game.isThreefoldRepetition());
+    }
+
+    @Test
+    public void setBoardResetsFiftyMoveClock() throws Exception {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/4P3/4K2R w - - 99 80");
+        game.makeMove(move(1, 8, 1, 7));
+        assertTrue(game.isFiftyMoveRule());
+        ChessBoard board = ChessGame.fromFen("4k3/8/8/8/8/8/4P3/4K2R b - - 120 1").getBoard();
+        game.setBoard(board);
+        assertFalse(game.isFiftyMoveRule());
+        assertFalse(game.isDraw());
+    }
+
+    @Test
+    public void fiftyMoveRule() throws Exception {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/4P3/4K2R w - - 99 80");
+        assertFalse(game.isFiftyMoveRule());
+        game.makeMove(move(1, 8, 1, 7));
+        assertTrue(game.isFiftyMoveRule());
+        assertTrue(game.isDraw());
+    }
+
+    @Test
+    public void insufficientMaterial() {
+        assertTrue(ChessGame.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 0 1").hasInsufficientMaterial());
+        assertTrue(ChessGame.fromFen("4k3/8/8/8/8/8/8/4KN2 w - - 0 1").hasInsufficientMaterial());
+        //bishops on c1 and f8 both stand on dark squares
+        assertTrue(ChessGame.fromFen("4kb2/8/8/8/8/8/8/2B1K3 w - - 0 1").hasInsufficientMaterial());
+        assertFalse(ChessGame.fromFen("4k3/8/8/8/8/8/8/2B1KB2 w - - 0 1").hasInsufficientMaterial());
+        assertFalse(ChessGame.fromFen("4k3/8/8/8/8/8/8/3NKN2 w - - 0 1").hasInsufficientMaterial());
+        assertFalse(ChessGame.fromFen("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1").hasInsufficientMaterial());
+        assertFalse(new ChessGame().isDraw());
+    }
+
+    private static ChessMove move(int fromRow, int fromColumn, int toRow, int toColumn) {
+        return new ChessMove(new ChessPosition(fromRow, fromColumn), new ChessPosition(toRow, toColumn), null);
+    }
+}
@@ -0,0 +1,37 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlyweightTests {
+
+    @Test
+    public void positionsOnBoardAreShared() {
+        assertSame(ChessPosition.of(4, 5), ChessPosition.of(4, 5));
+        assertEquals(new ChessPosition(4, 5), ChessPosition.of(4, 5));
+        assertEquals(new ChessPosition(0, 9), ChessPosition.of(0, 9));
+    }
+
+    @Test
+    public void hashCodesUnchanged() {
+        ChessPosition position = ChessPosition.of(7, 2);
+        assertEquals(Objects.hash(7, 2), position.hashCode());
+        ChessMove move = ChessMove.of(position, ChessPosition.of(8, 2), ChessPiece.PieceType.QUEEN);
+        assertEquals(Objects.hash(position, ChessPosition.of(8, 2), ChessPiece.PieceType.QUEEN), move.hashCode());
+    }
+
+    @Test
+    public void movesAreInterned() {
+        ChessMove e4 = ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), null);
+        assertSame(e4, ChessMove.of(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        assertEquals(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null), e4);
+        assertNotSame(e4, ChessMove.of(ChessPosition.of(2, 5), ChessPosition.of(4, 5), ChessPiece.PieceType.QUEEN));
+
+        //generated moves are the same instances, whatever flags they were generated with
+        ChessGame game = new ChessGame();
+        assertTrue(game.validMoves(ChessPosition.of(2, 5)).stream().anyMatch(move -> move == e4));
+    }
+}
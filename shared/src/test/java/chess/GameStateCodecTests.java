@@ -0,0 +1,115 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateCodecTests {
+
+    @Test
+    public void startingPositionRoundTrip() {
+        ChessGame game = new ChessGame();
+        byte[] bytes = game.encode();
+        assertEquals(GameStateCodec.LENGTH, bytes.length);
+        ChessGame decoded = ChessGame.decode(bytes);
+        assertEquals(game, decoded);
+        assertEquals(game.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    public void stateRoundTrip() throws Exception {
+        ChessGame game = new ChessGame();
+        game.makeMove(new ChessMove(new ChessPosition(2, 5), new ChessPosition(4, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(8, 7), new ChessPosition(6, 6), null));
+        game.makeMove(new ChessMove(new ChessPosition(1, 5), new ChessPosition(2, 5), null));
+        game.makeMove(new ChessMove(new ChessPosition(7, 4), new ChessPosition(5, 4), null));
+
+        ChessGame decoded = ChessGame.decode(game.encode());
+        assertEquals(ChessGame.TeamColor.WHITE, decoded.getTeamTurn());
+        assertEquals(4, decoded.getMoveCount());
+        assertEquals(game.toFen(), decoded.toFen());
+        assertEquals(game.getZobristKey(), decoded.getZobristKey());
+    }
+
+    @Test
+    public void fenRoundTrip() {
+        String fen = "r3k2r/8/8/3pP3/8/8/8/R3K2R w Qk d6 0 1";
+        ChessGame game = ChessGame.fromFen(fen);
+        assertEquals(fen, ChessGame.decode(game.encode()).toFen());
+    }
+
+    @Test
+    public void readsVersion1() {
+        byte[] bytes = Arrays.copyOf(new ChessGame().encode(), 37);
+        bytes[2] = 1;
+        ChessGame decoded = ChessGame.decode(bytes);
+        assertEquals(new ChessGame(), decoded);
+        assertEquals(0, decoded.getMoveCount());
+    }
+
+    @Test
+    public void clocksRoundTrip() {
+        String fen = "r3k2r/8/8/8/8/8/8/R3K2R b Kq - 17 40";
+        ChessGame game = ChessGame.fromFen(fen);
+        assertEquals(79, game.getMoveCount());
+        assertEquals(17, game.getHalfmoveClock());
+        ChessGame decoded = ChessGame.decode(game.encode());
+        assertEquals(game, decoded);
+        assertEquals(fen, decoded.toFen());
+    }
+
+    @Test
+    public void readsVersion2() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K2R w K - 9 6");
+        byte[] bytes = Arrays.copyOf(game.encode(), 39);
+        bytes[2] = 2;
+        ChessGame decoded = ChessGame.decode(bytes);
+        assertEquals(10, decoded.getMoveCount());
+        assertEquals(0, decoded.getHalfmoveClock());
+        assertEquals(ChessBoard.WHITE_KINGSIDE, decoded.getBoard().getCastlingRights());
+    }
+
+    @Test
+    public void rejectsJson() {
+        byte[] json = new ChessGame().serialize().getBytes(StandardCharsets.UTF_8);
+        assertFalse(GameStateCodec.isEncoded(json));
+        assertThrows(IllegalArgumentException.class, () -> ChessGame.decode(json));
+    }
+
+    @Test
+    public void readsLegacyJson() {
+        //the JSON games were stored as before the board moved to bitboards
+        String json = """
+                {"teamTurn":"BLACK","board":{"board":[
+                [null,null,null,null,{"color":"WHITE","type":"KING"},null,null,{"color":"WHITE","type":"ROOK"}],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,{"color":"WHITE","type":"PAWN"},null,null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [null,null,null,null,null,null,null,null],
+                [{"color":"BLACK","type":"ROOK"},null,null,null,{"color":"BLACK","type":"KING"},null,null,null]
+                ]}}""";
+        ChessGame game = ChessGame.deserialize(json);
+        assertEquals("r3k3/8/8/8/3P4/8/8/4K2R b Kq - 0 1", game.toFen());
+        assertEquals(ChessGame.TeamColor.BLACK, game.getBoard().getSideToMove());
+        assertEquals(game, ChessGame.decode(game.encode()));
+    }
+
+    @Test
+    public void rejectsBadEnPassantSquare() {
+        byte[] bytes = new ChessGame().encode();
+        bytes[4] = 64;
+        assertThrows(IllegalArgumentException.class, () -> ChessGame.decode(bytes));
+    }
+
+    @Test
+    public void rejectsUnknownVersion() {
+        byte[] bytes = new ChessGame().encode();
+        bytes[2] = GameStateCodec.VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> ChessGame.decode(bytes));
+    }
+}
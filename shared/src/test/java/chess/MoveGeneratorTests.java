@@ -0,0 +1,58 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveGeneratorTests {
+    private final int[] moves = new int[MoveGenerator.MAX_MOVES];
+
+    @Test
+    public void startingPositionHasTwentyMoves() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        assertEquals(20, MoveGenerator.generatePseudoLegal(board, ChessGame.TeamColor.WHITE, moves));
+        assertEquals(20, MoveGenerator.generatePseudoLegal(board, ChessGame.TeamColor.BLACK, moves));
+    }
+
+    @Test
+    public void pawnPromotesToEveryPiece() {
+        ChessBoard board = Fen.toBoard("3r3k/4P3/8/8/8/8/8/K7 w - - 0 1");
+        int pawn = Bitboards.pieceIndex(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.PAWN);
+        int count = MoveGenerator.generatePieceMoves(board, pawn, Bitboards.square(7, 5), moves, 0);
+        //a push to e8 and a capture on d8, each as four promotions
+        assertEquals(8, count);
+        Set<ChessPiece.PieceType> promotions = EnumSet.noneOf(ChessPiece.PieceType.class);
+        int captures = 0;
+        for (int i = 0; i < count; i++) {
+            assertTrue(PackedMove.isPromotion(moves[i]));
+            promotions.add(PackedMove.promotion(moves[i]));
+            if (PackedMove.has(moves[i], PackedMove.CAPTURE)) {
+                captures++;
+            }
+        }
+        assertEquals(EnumSet.of(ChessPiece.PieceType.QUEEN, ChessPiece.PieceType.ROOK,
+                ChessPiece.PieceType.BISHOP, ChessPiece.PieceType.KNIGHT), promotions);
+        assertEquals(4, captures);
+    }
+
+    @Test
+    public void pinnedPiecesStayOnThePin() {
+        //the rook on e4 is pinned along the file, the knight on d2 along the diagonal
+        ChessBoard board = Fen.toBoard("4r2k/8/8/b7/4R3/8/3N4/4K3 w - - 0 1");
+        int count = MoveGenerator.generateLegal(board, ChessGame.TeamColor.WHITE,
+                Bitboards.bit(Bitboards.square(4, 5)), moves, 0);
+        assertEquals(6, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(4, PackedMove.to(moves[i]) & 7);
+        }
+        assertEquals(0, MoveGenerator.generateLegal(board, ChessGame.TeamColor.WHITE,
+                Bitboards.bit(Bitboards.square(2, 4)), moves, 0));
+        //without the pin the knight would have five moves, e4 being its own rook
+        int knight = Bitboards.pieceIndex(ChessGame.TeamColor.WHITE, ChessPiece.PieceType.KNIGHT);
+        assertEquals(5, MoveGenerator.generatePieceMoves(board, knight, Bitboards.square(2, 4), moves, 0));
+    }
+}
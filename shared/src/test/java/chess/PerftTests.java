@@ -0,0 +1,84 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Node counts from the published perft results at chessprogramming.org/Perft_Results
+ */
+public class PerftTests {
+
+    private static final String KIWIPETE =
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    private static final String ENDGAME = "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1";
+    private static final String PROMOTIONS = "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1";
+    private static final String CHECKS = "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8";
+    private static final String MIDDLEGAME =
+            "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10";
+
+    @Test
+    public void startingPosition() {
+        assertCounts(Fen.START, 20, 400, 8902, 197281);
+    }
+
+    @Test
+    public void kiwipete() {
+        assertCounts(KIWIPETE, 48, 2039, 97862);
+    }
+
+    @Test
+    public void endgame() {
+        assertCounts(ENDGAME, 14, 191, 2812, 43238, 674624);
+    }
+
+    @Test
+    public void promotions() {
+        assertCounts(PROMOTIONS, 6, 264, 9467, 422333);
+    }
+
+    @Test
+    public void checks() {
+        assertCounts(CHECKS, 44, 1486, 62379);
+    }
+
+    @Test
+    public void middlegame() {
+        assertCounts(MIDDLEGAME, 46, 2079, 89890);
+    }
+
+    @Test
+    public void walkLeavesBoardUnchanged() {
+        ChessBoard board = Fen.toBoard(KIWIPETE);
+        long key = board.getZobristKey();
+        new Perft(3).count(board, 3);
+        assertEquals(key, board.getZobristKey());
+        assertEquals(KIWIPETE, Fen.fromBoard(board));
+    }
+
+    @Test
+    public void divideSumsToCount() {
+        ChessBoard board = Fen.toBoard(Fen.START);
+        Perft perft = new Perft(3);
+        Map<String, Long> counts = perft.divide(board, 3);
+        assertEquals(20, counts.size());
+        assertEquals(600L, counts.get("e2e4"));
+        assertEquals(perft.count(board, 3), counts.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void badFen() {
+        assertThrows(IllegalArgumentException.class, () -> Fen.toBoard("rnbqkbnr/pppppppp/8/8 w KQkq -"));
+        assertThrows(IllegalArgumentException.class, () -> Fen.toBoard(Fen.START.replace(" w ", " x ")));
+    }
+
+    private static void assertCounts(String fen, long... expected) {
+        ChessBoard board = Fen.toBoard(fen);
+        Perft perft = new Perft(expected.length);
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals(expected[depth - 1], perft.count(board, depth), "depth " + depth + " of " + fen);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PgnTests {
+
+    private static final String OPERA_GAME = """
+            [Event "Paris"]
+            [Site "Paris FRA"]
+            [Date "1858.??.??"]
+            [White "Paul Morphy"]
+            [Black "Duke Karl / Count Isouard"]
+            [Result "1-0"]
+
+            1. e4 e5 2. Nf3 d6 3. d4 Bg4 {This is a weak move already.} 4. dxe5 Bxf3
+            5. Qxf3 dxe5 6. Bc4 Nf6 7. Qb3 Qe7 8. Nc3 (8. Qxb7 Qb4+ 9. Qxb4 Bxb4+) c6
+            9. Bg5 b5?! 10. Nxb5! cxb5 11. Bxb5+ Nbd7 12. O-O-O Rd8 13. Rxd7 Rxd7
+            14. Rd1 Qe6 15. Bxd7+ Nxd7 16. Qb8+ $1 Nxb8 17. Rd8# 1-0
+            """;
+
+    private static final String SPECIAL_MOVES = """
+            [Event "Special moves"]
+
+            1. e4 Nf6 2. e5 d5 3. exd6 e6 4. dxc7 Qd6 5. cxb8=Q Rxb8 *
+
+            [Event "From a position"]
+            [FEN "4k3/8/8/8/8/8/8/R3K2R b KQ - 0 1"]
+
+            1... Kd7 2. O-O Kc6
+            """;
+
+    @Test
+    public void readsTagsAndMainLine() throws Exception {
+        PgnGame game = new PgnReader(new StringReader(OPERA_GAME)).next();
+        assertEquals("Paul Morphy", game.tags().get("White"));
+        assertEquals("1-0", game.result());
+        assertEquals(33, game.moves().size());
+        assertEquals("Nc3", game.moves().get(14));
+        assertEquals("c6", game.moves().get(15));
+        assertEquals("Rd8#", game.moves().get(32));
+
+        ChessGame end = game.replay();
+        assertTrue(end.isInCheckmate(ChessGame.TeamColor.BLACK));
+    }
+
+    @Test
+    public void readsGamesOneAtATime() throws Exception {
+        PgnReader reader = new PgnReader(new StringReader(SPECIAL_MOVES));
+        PgnGame first = reader.next();
+        PgnGame second = reader.next();
+        assertNull(reader.next());
+
+        assertEquals("*", first.result());
+        ChessGame afterFirst = first.replay();
+        assertEquals(new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK),
+                afterFirst.getBoard().getPiece(new ChessPosition(8, 2)));
+
+        assertEquals(List.of("Kd7", "O-O", "Kc6"), second.moves());
+        assertEquals("8/8/2k5/8/8/8/8/R4RK1 w - - 3 3", second.replay().toFen());
+    }
+
+    @Test
+    public void writeThenReadRoundTrip() throws Exception {
+        PgnGame game = new PgnReader(new StringReader(OPERA_GAME)).next();
+        StringWriter text = new StringWriter();
+        new PgnWriter(text).write(game);
+
+        PgnGame reread = new PgnReader(new StringReader(text.toString())).next();
+        assertEquals(game, reread);
+        for (String line : text.toString().split("\n")) {
+            assertTrue(line.length() <= 80, line);
+        }
+    }
+
+    @Test
+    public void recordsChessMovesAsSan() throws Exception {
+        PgnGame game = new PgnReader(new StringReader(OPERA_GAME)).next();
+        Map<String, String> tags = new LinkedHashMap<>(game.tags());
+        PgnGame recorded = PgnGame.of(tags, new ChessGame(), game.chessMoves(), "1-0");
+        assertEquals(game.moves(), recorded.moves());
+    }
+
+    @Test
+    public void illegalMoveFails() throws Exception {
+        PgnGame game = new PgnReader(new StringReader("1. e4 e5 2. Ke3 *")).next();
+        assertThrows(InvalidMoveException.class, game::replay);
+    }
+
+    @Test
+    public void fenWritesToAppendable() throws Exception {
+        ChessBoard board = Fen.toBoard(Fen.START);
+        StringWriter out = new StringWriter();
+        Fen.write(board, out);
+        assertEquals(Fen.START, out.toString());
+        assertEquals(Fen.START, Fen.toGame(new StringBuilder(Fen.START)).toFen());
+    }
+}
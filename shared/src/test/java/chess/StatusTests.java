@@ -0,0 +1,69 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatusTests {
+
+    @Test
+    public void statusFollowsMoves() throws Exception {
+        ChessGame game = new ChessGame();
+        assertEquals(ChessGame.Status.IN_PLAY, game.getStatus());
+        game.makeMove(move(2, 6, 3, 6));
+        game.makeMove(move(7, 5, 5, 5));
+        game.makeMove(move(2, 7, 4, 7));
+        assertEquals(ChessGame.Status.IN_PLAY, game.getStatus());
+        game.makeMove(move(8, 4, 4, 8));
+        assertEquals(ChessGame.Status.CHECKMATE, game.getStatus());
+        assertTrue(game.getStatus().isOver());
+        assertTrue(game.isInCheckmate(ChessGame.TeamColor.WHITE));
+    }
+
+    @Test
+    public void statusIsStored() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K2r w - - 0 1");
+        assertEquals(ChessGame.Status.CHECK, game.getStatus());
+
+        byte[] bytes = game.encode();
+        assertEquals(ChessGame.Status.CHECK.ordinal() + 1, (bytes[3] >>> 5) & 0x7);
+        assertEquals(ChessGame.Status.CHECK, ChessGame.decode(bytes).getStatus());
+        assertTrue(game.serialize().contains("\"status\":\"CHECK\""));
+        assertEquals(ChessGame.Status.CHECK, ChessGame.deserialize(game.serialize()).getStatus());
+    }
+
+    @Test
+    public void jsonStatusIsWorkedOutAgain() {
+        ChessGame mated = ChessGame.fromFen("7k/6Q1/6K1/8/8/8/8/8 b - - 0 1");
+        //JSON saved before the status was, which leaves it at the constructor's IN_PLAY
+        String missing = mated.serialize().replaceAll(",?\"status\":\"CHECKMATE\"", "");
+        assertFalse(missing.contains("status"));
+        assertEquals(ChessGame.Status.CHECKMATE, ChessGame.deserialize(missing).getStatus());
+        String tampered = new ChessGame().serialize().replace("\"IN_PLAY\"", "\"CHECKMATE\"");
+        assertTrue(tampered.contains("CHECKMATE"));
+        assertEquals(ChessGame.Status.IN_PLAY, ChessGame.deserialize(tampered).getStatus());
+    }
+
+    @Test
+    public void version4StatusWorkedOutOnRead() {
+        byte[] bytes = ChessGame.fromFen("7k/5Q2/6K1/8/8/8/8/8 b - - 0 1").encode();
+        bytes[2] = 4;
+        bytes[3] &= 0x1F;
+        assertEquals(ChessGame.Status.STALEMATE, ChessGame.decode(bytes).getStatus());
+    }
+
+    @Test
+    public void boardChangesAreNoticed() {
+        ChessGame game = ChessGame.fromFen("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        assertEquals(ChessGame.Status.DRAW, game.getStatus());
+        game.getBoard().addPiece(new ChessPosition(1, 1),
+                new ChessPiece(ChessGame.TeamColor.BLACK, ChessPiece.PieceType.ROOK));
+        assertEquals(ChessGame.Status.CHECK, game.getStatus());
+        game.setTeamTurn(ChessGame.TeamColor.BLACK);
+        assertEquals(ChessGame.Status.IN_PLAY, game.getStatus());
+    }
+
+    private static ChessMove move(int fromRow, int fromColumn, int toRow, int toColumn) {
+        return new ChessMove(new ChessPosition(fromRow, fromColumn), new ChessPosition(toRow, toColumn), null);
+    }
+}
@@ -0,0 +1,57 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnmakeMoveTests {
+    //castling both ways, promotions with and without captures, and a2-a4 allowing b4xa3 en passant
+    private static final String TRICKY = "r3k2r/pPp1qpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPpP/R3K2R w KQkq - 3 20";
+
+    @Test
+    public void unmakeRestoresEverything() {
+        ChessBoard board = Fen.toBoard(TRICKY);
+        String before = Fen.fromBoard(board);
+        roundTrip(board, 3, new int[3][MoveGenerator.MAX_MOVES]);
+        assertEquals(before, Fen.fromBoard(board));
+    }
+
+    @Test
+    public void keyAfterMakeMatchesFreshBoard() {
+        ChessBoard board = Fen.toBoard(TRICKY);
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, ChessGame.TeamColor.WHITE, -1L, moves, 0);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            ChessBoard fresh = Fen.toBoard(Fen.fromBoard(board));
+            assertEquals(fresh.getZobristKey(), board.getZobristKey(), Perft.moveName(moves[i]));
+            board.unmakeMove(moves[i]);
+        }
+    }
+
+    /**
+     * Makes and unmakes every legal move down to the given depth, checking after each
+     * unmake that pieces, rule state and key are back to what they were
+     */
+    private static void roundTrip(ChessBoard board, int depth, int[][] buffers) {
+        if (depth == 0) {
+            return;
+        }
+        int[] moves = buffers[depth - 1];
+        int count = MoveGenerator.generateLegal(board, board.getSideToMove(), -1L, moves, 0);
+        ChessBoard pieces = board.cloneBoard();
+        long key = board.getZobristKey();
+        int ruleState = board.getRuleState();
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.makeMove(move);
+            roundTrip(board, depth - 1, buffers);
+            board.unmakeMove(move);
+
+            assertEquals(pieces, board, Perft.moveName(move));
+            assertEquals(ruleState, board.getRuleState(), Perft.moveName(move));
+            assertEquals(key, board.getZobristKey(), Perft.moveName(move));
+            assertEquals(pieces.getSideToMove(), board.getSideToMove(), Perft.moveName(move));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package chess;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ZobristTests {
+
+    @Test
+    public void sameStartingPositionSameKey() {
+        ChessBoard built = new ChessBoard();
+        built.resetBoard();
+        ChessGame game = new ChessGame();
+        assertEquals(game.getZobristKey(), built.getZobristKey());
+        assertEquals(built.hashCode(), game.getBoard().hashCode());
+    }
+
+    @Test
+    public void keyFollowsMoves() throws Exception {
+        ChessGame game = new ChessGame();
+        long start = game.getZobristKey();
+        game.makeMove(move(1, 7, 3, 6));
+        assertNotEquals(start, game.getZobristKey());
+        game.makeMove(move(8, 7, 6, 6));
+        game.makeMove(move(3, 6, 1, 7));
+        assertNotEquals(start, game.getZobristKey());
+
+        //both knights back home repeats the starting position
+        game.makeMove(move(6, 6, 8, 7));
+        assertEquals(start, game.getZobristKey());
+    }
+
+    @Test
+    public void incrementalKeyMatchesRecomputed() throws Exception {
+        ChessGame game = new ChessGame();
+        game.makeMove(move(2, 5, 4, 5));
+        game.makeMove(move(7, 4, 5, 4));
+        game.makeMove(move(4, 5, 5, 4));
+
+        ChessGame copy = ChessGame.deserialize(game.serialize());
+        assertEquals(game.getBoard().getPieceKey(), copy.getBoard().getPieceKey());
+        assertEquals(game.getBoard(), copy.getBoard());
+    }
+
+    @Test
+    public void unmakeRestoresRuleState() {
+        ChessBoard board = Fen.toBoard("r3k2r/8/8/8/8/8/3P4/R3K2R w KQkq - 12 30");
+        int start = board.getRuleState();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, ChessGame.TeamColor.WHITE, -1L, moves, 0);
+        for (int i = 0; i < count; i++) {
+            int move = moves[i];
+            board.makeMove(move);
+            boolean resets = PackedMove.from(move) == Bitboards.square(2, 4) || PackedMove.has(move, PackedMove.CAPTURE);
+            assertEquals(resets ? 0 : 13, board.getHalfmoveClock());
+            if (PackedMove.has(move, PackedMove.DOUBLE_PUSH)) {
+                assertEquals(Bitboards.square(3, 4), board.getEnPassantSquare());
+            }
+            board.unmakeMove(move);
+            assertEquals(start, board.getRuleState());
+        }
+    }
+
+    @Test
+    public void unmakeRestoresKey() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        long start = board.getZobristKey();
+        int[] moves = new int[MoveGenerator.MAX_MOVES];
+        int count = MoveGenerator.generateLegal(board, ChessGame.TeamColor.WHITE, -1L, moves, 0);
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            assertNotEquals(start, board.getZobristKey());
+            board.unmakeMove(moves[i]);
+            assertEquals(start, board.getZobristKey());
+        }
+    }
+
+    @Test
+    public void sideToMoveChangesKey() {
+        ChessBoard board = new ChessBoard();
+        board.resetBoard();
+        long white = board.getZobristKey();
+        board.setSideToMove(ChessGame.TeamColor.BLACK);
+        assertNotEquals(white, board.getZobristKey());
+        assertEquals(white ^ Zobrist.sideToMove(ChessGame.TeamColor.BLACK), board.getZobristKey());
+    }
+
+    private static ChessMove move(int startRow, int startColumn, int endRow, int endColumn) {
+        return new ChessMove(new ChessPosition(startRow, startColumn), new ChessPosition(endRow, endColumn), null);
+    }
+}